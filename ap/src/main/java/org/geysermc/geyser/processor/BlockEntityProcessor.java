@@ -28,6 +28,11 @@ package org.geysermc.geyser.processor;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import java.io.IOException;
+import java.util.List;
 
 @SupportedAnnotationTypes("*")
 @SupportedSourceVersion(SourceVersion.RELEASE_16)
@@ -35,4 +40,27 @@ public class BlockEntityProcessor extends ClassProcessor {
     public BlockEntityProcessor() {
         super("org.geysermc.geyser.translator.level.block.entity.BlockEntity");
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void generateRegistrations(List<TypeElement> elements) throws IOException {
+        String className = "org.geysermc.geyser.translator.level.block.entity.BlockEntityRegistrations";
+        StringBuilder source = new StringBuilder(sourceHeader(className));
+        source.append("    public static void register(java.util.Map<com.github.steveice10.mc.protocol.data.game.level.block.BlockEntityType, BlockEntityTranslator> entries) {\n");
+        for (int i = 0; i < elements.size(); i++) {
+            TypeElement element = elements.get(i);
+            String translator = "translator" + i;
+            source.append("        BlockEntityTranslator ").append(translator).append(" = new ").append(element.getQualifiedName()).append("();\n");
+
+            List<? extends AnnotationValue> types = (List<? extends AnnotationValue>) getAnnotationValues(element).get("type").getValue();
+            for (AnnotationValue type : types) {
+                VariableElement constant = (VariableElement) type.getValue();
+                source.append("        entries.put(com.github.steveice10.mc.protocol.data.game.level.block.BlockEntityType.")
+                        .append(constant.getSimpleName()).append(", ").append(translator).append(");\n");
+            }
+        }
+        source.append("    }\n}\n");
+
+        writeSource(className, elements, source.toString());
+    }
 }
@@ -29,22 +29,31 @@ import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
 import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
 import javax.tools.StandardLocation;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class ClassProcessor extends AbstractProcessor {
@@ -54,6 +63,9 @@ public class ClassProcessor extends AbstractProcessor {
 
     private final Set<String> locations = new HashSet<>();
 
+    private boolean readExistingLocations;
+    private boolean generatedRegistrations;
+
     public ClassProcessor(String annotationClassName) {
         this.annotationClassName = annotationClassName;
     }
@@ -96,9 +108,91 @@ public class ClassProcessor extends AbstractProcessor {
             TypeElement typeElement = (TypeElement) element;
             this.locations.add(typeElement.getQualifiedName().toString());
         }
+
+        // Generate registration source as soon as we know every class, so it's compiled with the rest of the module
+        if (!this.generatedRegistrations && !this.locations.isEmpty()) {
+            this.generatedRegistrations = true;
+            this.readExistingLocations();
+
+            List<TypeElement> elements = new ArrayList<>();
+            for (String location : this.locations) {
+                TypeElement element = this.processingEnv.getElementUtils().getTypeElement(location);
+                if (element != null) {
+                    elements.add(element);
+                }
+            }
+            elements.sort(Comparator.comparing(element -> element.getQualifiedName().toString()));
+
+            try {
+                this.generateRegistrations(elements);
+            } catch (IOException ex) {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not generate registrations for " + this.annotationClassName + ": " + ex.getMessage());
+            }
+        }
         return false;
     }
 
+    /**
+     * Generates source that registers every class annotated with this processor's annotation directly,
+     * so they don't have to be looked up and instantiated through reflection at runtime.
+     *
+     * @param elements every annotated class, sorted by name
+     */
+    protected void generateRegistrations(List<TypeElement> elements) throws IOException {
+    }
+
+    /**
+     * Returns the values of this processor's annotation on the given class, including defaults.
+     *
+     * @param element the annotated class
+     * @return the annotation values, keyed by the name of the annotation method
+     */
+    protected Map<String, AnnotationValue> getAnnotationValues(TypeElement element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (!mirror.getAnnotationType().toString().equals(this.annotationClassName)) {
+                continue;
+            }
+
+            Map<String, AnnotationValue> values = new HashMap<>();
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : this.processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+                values.put(entry.getKey().getSimpleName().toString(), entry.getValue());
+            }
+            return values;
+        }
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Writes a generated source file.
+     *
+     * @param className the fully qualified name of the generated class
+     * @param elements the classes the generated class was created from
+     * @param source the source of the generated class
+     */
+    protected void writeSource(String className, List<TypeElement> elements, String source) throws IOException {
+        JavaFileObject file = this.processingEnv.getFiler().createSourceFile(className, elements.toArray(new Element[0]));
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Writing " + className + " to " + file.toUri());
+        try (Writer writer = file.openWriter()) {
+            writer.write(source);
+        }
+    }
+
+    /**
+     * Returns the start of a generated class, up to and including its private constructor.
+     *
+     * @param className the fully qualified name of the generated class
+     * @return the start of the generated source
+     */
+    protected String sourceHeader(String className) {
+        int lastDot = className.lastIndexOf('.');
+        String simpleName = className.substring(lastDot + 1);
+        return "package " + className.substring(0, lastDot) + ";\n\n" +
+                "@javax.annotation.processing.Generated(\"" + this.getClass().getName() + "\")\n" +
+                "public final class " + simpleName + " {\n" +
+                "    private " + simpleName + "() {\n" +
+                "    }\n\n";
+    }
+
     public boolean contains(Collection<? extends TypeElement> elements, String className) {
         if (elements.isEmpty()) {
             return false;
@@ -128,6 +222,29 @@ public class ClassProcessor extends AbstractProcessor {
     }
 
     public void complete() {
+        this.readExistingLocations();
+
+        if (!locations.isEmpty()) {
+            try (BufferedWriter writer = this.createWriter()) {
+                for (String location : this.locations) {
+                    writer.write(location);
+                    writer.newLine();
+                }
+            } catch (IOException ex) {
+                ex.printStackTrace();
+            }
+        } else {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Did not find any classes annotated with " + this.annotationClassName);
+        }
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Completed processing for " + this.annotationClassName);
+    }
+
+    private void readExistingLocations() {
+        if (this.readExistingLocations) {
+            return;
+        }
+        this.readExistingLocations = true;
+
         // Read existing annotation list and verify each class still has this annotation
         try (BufferedReader reader = this.createReader()) {
             if (reader != null) {
@@ -143,20 +260,6 @@ public class ClassProcessor extends AbstractProcessor {
         } catch (IOException e) {
             e.printStackTrace();
         }
-
-        if (!locations.isEmpty()) {
-            try (BufferedWriter writer = this.createWriter()) {
-                for (String location : this.locations) {
-                    writer.write(location);
-                    writer.newLine();
-                }
-            } catch (IOException ex) {
-                ex.printStackTrace();
-            }
-        } else {
-            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Did not find any classes annotated with " + this.annotationClassName);
-        }
-        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Completed processing for " + this.annotationClassName);
     }
 
     private BufferedReader createReader() throws IOException {
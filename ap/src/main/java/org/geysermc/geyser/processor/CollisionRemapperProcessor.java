@@ -28,6 +28,12 @@ package org.geysermc.geyser.processor;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
 @SupportedAnnotationTypes("*")
 @SupportedSourceVersion(SourceVersion.RELEASE_16)
@@ -35,4 +41,28 @@ public class CollisionRemapperProcessor extends ClassProcessor {
     public CollisionRemapperProcessor() {
         super("org.geysermc.geyser.translator.collision.CollisionRemapper");
     }
+
+    @Override
+    protected void generateRegistrations(List<TypeElement> elements) throws IOException {
+        Elements elementUtils = this.processingEnv.getElementUtils();
+
+        String className = "org.geysermc.geyser.translator.collision.CollisionRemapperRegistrations";
+        StringBuilder source = new StringBuilder(sourceHeader(className));
+        source.append("    public static void register(java.util.List<org.geysermc.geyser.registry.loader.CollisionRegistryLoader.CollisionInfo> collisionInfos) {\n");
+        for (TypeElement element : elements) {
+            Map<String, AnnotationValue> values = getAnnotationValues(element);
+            String regex = elementUtils.getConstantExpression(values.get("regex").getValue());
+            String paramRegex = elementUtils.getConstantExpression(values.get("paramRegex").getValue());
+            boolean passDefaultBoxes = (Boolean) values.get("passDefaultBoxes").getValue();
+
+            source.append("        collisionInfos.add(new org.geysermc.geyser.registry.loader.CollisionRegistryLoader.CollisionInfo(")
+                    .append("java.util.regex.Pattern.compile(").append(regex).append("), ")
+                    .append("java.util.regex.Pattern.compile(").append(paramRegex).append("), ")
+                    .append("(params, defaultBoxes) -> new ").append(element.getQualifiedName())
+                    .append(passDefaultBoxes ? "(params, defaultBoxes)));\n" : "(params)));\n");
+        }
+        source.append("    }\n}\n");
+
+        writeSource(className, elements, source.toString());
+    }
 }
@@ -28,6 +28,12 @@ package org.geysermc.geyser.processor;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.List;
 
 @SupportedAnnotationTypes("*")
 @SupportedSourceVersion(SourceVersion.RELEASE_16)
@@ -35,4 +41,35 @@ public class PacketTranslatorProcessor extends ClassProcessor {
     public PacketTranslatorProcessor() {
         super("org.geysermc.geyser.translator.protocol.Translator");
     }
+
+    @Override
+    protected void generateRegistrations(List<TypeElement> elements) throws IOException {
+        Types types = this.processingEnv.getTypeUtils();
+        TypeMirror javaPacket = types.erasure(this.processingEnv.getElementUtils().getTypeElement("com.github.steveice10.packetlib.packet.Packet").asType());
+        TypeMirror bedrockPacket = types.erasure(this.processingEnv.getElementUtils().getTypeElement("org.cloudburstmc.protocol.bedrock.packet.BedrockPacket").asType());
+
+        String className = "org.geysermc.geyser.translator.protocol.TranslatorRegistrations";
+        StringBuilder source = new StringBuilder(sourceHeader(className));
+        source.append("    public static void register(org.geysermc.geyser.registry.PacketTranslatorRegistry<com.github.steveice10.packetlib.packet.Packet> java,\n")
+                .append("                                org.geysermc.geyser.registry.PacketTranslatorRegistry<org.cloudburstmc.protocol.bedrock.packet.BedrockPacket> bedrock) {\n");
+        for (TypeElement element : elements) {
+            TypeMirror packet = types.erasure((TypeMirror) getAnnotationValues(element).get("packet").getValue());
+
+            String registry;
+            if (types.isAssignable(packet, javaPacket)) {
+                registry = "java";
+            } else if (types.isAssignable(packet, bedrockPacket)) {
+                registry = "bedrock";
+            } else {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Class is annotated as a translator but has an invalid target packet", element);
+                continue;
+            }
+
+            source.append("        ").append(registry).append(".register(").append(packet).append(".class, new ")
+                    .append(element.getQualifiedName()).append("());\n");
+        }
+        source.append("    }\n}\n");
+
+        writeSource(className, elements, source.toString());
+    }
 }
@@ -28,6 +28,9 @@ package org.geysermc.geyser.processor;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import java.io.IOException;
+import java.util.List;
 
 @SupportedAnnotationTypes("*")
 @SupportedSourceVersion(SourceVersion.RELEASE_16)
@@ -35,4 +38,19 @@ public class SoundHandlerProcessor extends ClassProcessor {
     public SoundHandlerProcessor() {
         super("org.geysermc.geyser.translator.sound.SoundTranslator");
     }
+
+    @Override
+    protected void generateRegistrations(List<TypeElement> elements) throws IOException {
+        String className = "org.geysermc.geyser.translator.sound.SoundTranslatorRegistrations";
+        StringBuilder source = new StringBuilder(sourceHeader(className));
+        source.append("    public static void register(java.util.Map<SoundTranslator, SoundInteractionTranslator<?>> entries) {\n");
+        for (TypeElement element : elements) {
+            // The annotation itself is the registry key, and is read straight from the class literal
+            source.append("        entries.put(").append(element.getQualifiedName()).append(".class.getAnnotation(SoundTranslator.class), new ")
+                    .append(element.getQualifiedName()).append("());\n");
+        }
+        source.append("    }\n}\n");
+
+        writeSource(className, elements, source.toString());
+    }
 }
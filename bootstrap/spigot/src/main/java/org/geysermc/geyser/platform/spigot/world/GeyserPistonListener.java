@@ -123,8 +123,8 @@ public class GeyserPistonListener implements Listener {
 
             session.executeInEventLoop(() -> {
                 PistonCache pistonCache = session.getPistonCache();
-                PistonBlockEntity blockEntity = pistonCache.getPistons().computeIfAbsent(position, pos ->
-                        new PistonBlockEntity(session, position, orientation, sticky, !isExtend));
+                PistonBlockEntity blockEntity = pistonCache.computePistonIfAbsent(position, pos ->
+                        new PistonBlockEntity(session, pos, orientation, sticky, !isExtend));
                 blockEntity.setAction(type, attachedBlocks);
             });
         }
@@ -51,10 +51,12 @@ import org.geysermc.geyser.platform.standalone.gui.GeyserStandaloneGUI;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.util.FileUtils;
 import org.geysermc.geyser.util.LoopbackUtil;
+import org.geysermc.geyser.util.StartupTimings;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Method;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -74,6 +76,11 @@ public class GeyserStandaloneBootstrap implements GeyserBootstrap {
     @Getter
     private boolean useGui = System.console() == null && !isHeadless();
     private String configFilename = "config.yml";
+    /**
+     * If Geyser should shut down as soon as it has started. Used to record which classes are loaded on startup
+     * into a class data sharing archive, which can then be used to start Geyser faster.
+     */
+    private boolean trainingRun = false;
 
     private GeyserImpl geyser;
 
@@ -103,6 +110,10 @@ public class GeyserStandaloneBootstrap implements GeyserBootstrap {
             switch (arg) {
                 case "--gui", "gui" -> useGuiOpts = true;
                 case "--nogui", "nogui" -> useGuiOpts = false;
+                case "--cds-training" -> {
+                    bootstrap.trainingRun = true;
+                    useGuiOpts = false;
+                }
                 case "--config", "-c" -> {
                     if (i >= args.length - 1) {
                         System.err.println(MessageFormat.format(GeyserLocale.getLocaleStringLog("geyser.bootstrap.args.config_not_specified"), "-c"));
@@ -118,6 +129,7 @@ public class GeyserStandaloneBootstrap implements GeyserBootstrap {
                     System.out.println("    -c, --config [file]    " + GeyserLocale.getLocaleStringLog("geyser.bootstrap.args.config"));
                     System.out.println("    -h, --help             " + GeyserLocale.getLocaleStringLog("geyser.bootstrap.args.help"));
                     System.out.println("    --gui, --nogui         " + GeyserLocale.getLocaleStringLog("geyser.bootstrap.args.gui"));
+                    System.out.println("    --cds-training         " + GeyserLocale.getLocaleStringLog("geyser.bootstrap.args.cds_training"));
                     return;
                 }
                 default -> {
@@ -217,7 +229,7 @@ public class GeyserStandaloneBootstrap implements GeyserBootstrap {
         // Allow libraries like Protocol to have their debug information passthrough
         logger.get().setLevel(geyserConfig.isDebugMode() ? Level.DEBUG : Level.INFO);
 
-        geyser = GeyserImpl.load(PlatformType.STANDALONE, this);
+        StartupTimings.time("GeyserImpl.load", () -> geyser = GeyserImpl.load(PlatformType.STANDALONE, this));
         GeyserImpl.start();
 
         geyserCommandManager = new GeyserCommandManager(geyser);
@@ -229,11 +241,31 @@ public class GeyserStandaloneBootstrap implements GeyserBootstrap {
 
         geyserPingPassthrough = GeyserLegacyPingPassthrough.init(geyser);
 
+        if (trainingRun) {
+            finishTrainingRun();
+            return;
+        }
+
         if (!useGui) {
             geyserLogger.start(); // Throws an error otherwise
         }
     }
 
+    /**
+     * Shuts down after a training run. If the JVM was started with {@code -XX:ArchiveClassesAtExit},
+     * every class loaded during startup is written to the archive when the JVM exits.
+     */
+    private void finishTrainingRun() {
+        boolean archiving = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .anyMatch(argument -> argument.startsWith("-XX:ArchiveClassesAtExit"));
+        if (archiving) {
+            geyserLogger.info(GeyserLocale.getLocaleStringLog("geyser.bootstrap.cds_training.complete"));
+        } else {
+            geyserLogger.warning(GeyserLocale.getLocaleStringLog("geyser.bootstrap.cds_training.no_archive", "geyser.jsa"));
+        }
+        onDisable();
+    }
+
     /**
      * Check using {@link java.awt.GraphicsEnvironment} that we are a headless client
      *
@@ -68,6 +68,7 @@ import org.geysermc.geyser.erosion.UnixSocketClientListener;
 import org.geysermc.geyser.event.GeyserEventBus;
 import org.geysermc.geyser.extension.GeyserExtensionManager;
 import org.geysermc.geyser.level.WorldManager;
+import org.geysermc.geyser.level.chunk.SharedChunkStore;
 import org.geysermc.geyser.network.netty.GeyserServer;
 import org.geysermc.geyser.pack.ResourcePack;
 import org.geysermc.geyser.registry.BlockRegistries;
@@ -76,6 +77,7 @@ import org.geysermc.geyser.scoreboard.ScoreboardUpdater;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.PendingMicrosoftAuthentication;
 import org.geysermc.geyser.session.SessionManager;
+import org.geysermc.geyser.session.SessionTickScheduler;
 import org.geysermc.geyser.skin.FloodgateSkinUploader;
 import org.geysermc.geyser.skin.ProvidedSkins;
 import org.geysermc.geyser.skin.SkinProvider;
@@ -142,6 +144,11 @@ public class GeyserImpl implements GeyserApi {
     private volatile boolean shuttingDown = false;
 
     private ScheduledExecutorService scheduledThread;
+    private SessionTickScheduler sessionTickScheduler;
+    /**
+     * Null if disabled in the config.
+     */
+    private SharedChunkStore sharedChunkStore;
 
     private GeyserServer geyserServer;
     private final PlatformType platformType;
@@ -189,12 +196,12 @@ public class GeyserImpl implements GeyserApi {
         logger.info("******************************************");
 
         /* Initialize registries */
-        Registries.init();
-        BlockRegistries.init();
+        StartupTimings.time("Registries.init", Registries::init);
+        StartupTimings.time("BlockRegistries.init", BlockRegistries::init);
 
         /* Initialize translators */
-        EntityDefinitions.init();
-        MessageTranslator.init();
+        StartupTimings.time("EntityDefinitions.init", EntityDefinitions::init);
+        StartupTimings.time("MessageTranslator.init", MessageTranslator::init);
 
         // Download the latest asset list and cache it
         AssetUtils.generateAssetCache().whenComplete((aVoid, ex) -> {
@@ -213,7 +220,7 @@ public class GeyserImpl implements GeyserApi {
             CompletableFuture.runAsync(AssetUtils::downloadAndRunClientJarTasks);
         });
 
-        startInstance();
+        StartupTimings.time("startInstance", this::startInstance);
 
         GeyserConfiguration config = bootstrap.getGeyserConfig();
 
@@ -238,6 +245,10 @@ public class GeyserImpl implements GeyserApi {
 
         logger.info(message);
 
+        // Startup time matters most for standalone, where instances may be started and stopped on demand
+        StartupTimings.log(platformType == PlatformType.STANDALONE ? logger::info : logger::debug);
+        StartupTimings.reset();
+
         if (platformType == PlatformType.STANDALONE) {
             if (config.getRemote().authType() != AuthType.FLOODGATE) {
                 // If the auth-type is Floodgate, then this Geyser instance is probably owned by the Java server
@@ -250,15 +261,20 @@ public class GeyserImpl implements GeyserApi {
 
     private void startInstance() {
         this.scheduledThread = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("Geyser Scheduled Thread"));
+        this.sessionTickScheduler = new SessionTickScheduler();
+        this.sessionTickScheduler.start();
 
         GeyserLogger logger = bootstrap.getGeyserLogger();
         GeyserConfiguration config = bootstrap.getGeyserConfig();
 
+        int sharedChunkCacheSize = config.getSharedChunkCacheSize();
+        this.sharedChunkStore = sharedChunkCacheSize > 0 ? new SharedChunkStore(sharedChunkCacheSize * 1024L * 1024L) : null;
+
         ScoreboardUpdater.init();
 
         SkinProvider.registerCacheImageTask(this);
 
-        ResourcePack.loadPacks();
+        StartupTimings.time("ResourcePack.loadPacks", ResourcePack::loadPacks);
 
         String geyserUdpPort = System.getProperty("geyserUdpPort", "");
         String pluginUdpPort = geyserUdpPort.isEmpty() ? System.getProperty("pluginUdpPort", "") : geyserUdpPort;
@@ -415,7 +431,7 @@ public class GeyserImpl implements GeyserApi {
             metrics.addCustomChart(new Metrics.SimplePie("version", () -> GeyserImpl.VERSION));
             metrics.addCustomChart(new Metrics.AdvancedPie("playerPlatform", () -> {
                 Map<String, Integer> valueMap = new HashMap<>();
-                for (GeyserSession session : sessionManager.getAllSessions()) {
+                for (GeyserSession session : sessionManager.allSessions()) {
                     if (session == null) continue;
                     if (session.getClientData() == null) continue;
                     String os = session.getClientData().getDeviceOs().toString();
@@ -429,7 +445,7 @@ public class GeyserImpl implements GeyserApi {
             }));
             metrics.addCustomChart(new Metrics.AdvancedPie("playerVersion", () -> {
                 Map<String, Integer> valueMap = new HashMap<>();
-                for (GeyserSession session : sessionManager.getAllSessions()) {
+                for (GeyserSession session : sessionManager.allSessions()) {
                     if (session == null) continue;
                     if (session.getClientData() == null) continue;
                     String version = session.getClientData().getGameVersion();
@@ -561,7 +577,7 @@ public class GeyserImpl implements GeyserApi {
 
     @Override
     public @Nullable GeyserSession connectionByUuid(@NonNull UUID uuid) {
-        return this.sessionManager.getSessions().get(uuid);
+        return this.sessionManager.sessionByJavaUuid(uuid);
     }
 
     @Override
@@ -611,6 +627,7 @@ public class GeyserImpl implements GeyserApi {
         }
 
         scheduledThread.shutdown();
+        sessionTickScheduler.shutdown();
         geyserServer.shutdown();
         if (skinUploader != null) {
             skinUploader.close();
@@ -706,6 +723,8 @@ public class GeyserImpl implements GeyserApi {
         if (instance.isShuttingDown()) {
             instance.shuttingDown = false;
             instance.startInstance();
+            // Reloads don't report their timings; don't keep them around
+            StartupTimings.reset();
         } else {
             instance.initialize();
         }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.command.defaults;
+
+import org.geysermc.common.PlatformType;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.command.GeyserCommand;
+import org.geysermc.geyser.command.GeyserCommandSource;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.PacketRecorder;
+import org.geysermc.geyser.text.ChatColor;
+import org.geysermc.geyser.text.GeyserLocale;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class PacketRecorderCommand extends GeyserCommand {
+    private final GeyserImpl geyser;
+
+    public PacketRecorderCommand(GeyserImpl geyser, String name, String description, String permission) {
+        super(name, description, permission);
+        this.geyser = geyser;
+    }
+
+    @Override
+    public void execute(@Nullable GeyserSession session, GeyserCommandSource sender, String[] args) {
+        // Only allow the console to record packets on Geyser Standalone
+        if (!sender.isConsole() && geyser.getPlatformType() == PlatformType.STANDALONE) {
+            sender.sendMessage(GeyserLocale.getPlayerLocaleString("geyser.bootstrap.command.permission_fail", sender.locale()));
+            return;
+        }
+
+        if (args.length < 2) {
+            sender.sendMessage(GeyserLocale.getPlayerLocaleString("geyser.commands.packetrecorder.usage", sender.locale(), this.name));
+            return;
+        }
+
+        GeyserSession target = geyser.getSessionManager().sessionByBedrockUsername(args[1]);
+        if (target == null) {
+            sender.sendMessage(GeyserLocale.getPlayerLocaleString("geyser.commands.packetrecorder.not_online", sender.locale(), args[1]));
+            return;
+        }
+
+        switch (args[0]) {
+            case "start" -> {
+                target.startPacketRecording();
+                sender.sendMessage(GeyserLocale.getPlayerLocaleString("geyser.commands.packetrecorder.started", sender.locale(),
+                        PacketRecorder.CAPACITY, target.bedrockUsername()));
+            }
+            case "stop" -> {
+                if (target.stopPacketRecording() == null) {
+                    sender.sendMessage(GeyserLocale.getPlayerLocaleString("geyser.commands.packetrecorder.not_recording", sender.locale(), target.bedrockUsername()));
+                } else {
+                    sender.sendMessage(GeyserLocale.getPlayerLocaleString("geyser.commands.packetrecorder.stopped", sender.locale(), target.bedrockUsername()));
+                }
+            }
+            case "dump" -> {
+                PacketRecorder recorder = target.getPacketRecorder();
+                if (recorder == null) {
+                    sender.sendMessage(GeyserLocale.getPlayerLocaleString("geyser.commands.packetrecorder.not_recording", sender.locale(), target.bedrockUsername()));
+                    return;
+                }
+
+                String fileName = target.bedrockUsername() + "-" + new SimpleDateFormat("yyyy-MM-dd-HH-mm-ss").format(new Date()) + ".gpr";
+                Path file = geyser.getBootstrap().getConfigFolder().resolve("packet-recordings").resolve(fileName);
+                CompletableFuture.runAsync(() -> {
+                    try {
+                        recorder.dump(file);
+                        sender.sendMessage(GeyserLocale.getPlayerLocaleString("geyser.commands.packetrecorder.written", sender.locale(),
+                                recorder.size(), file));
+                    } catch (IOException e) {
+                        geyser.getLogger().error(GeyserLocale.getLocaleStringLog("geyser.commands.packetrecorder.write_error_short", target.bedrockUsername()), e);
+                        sender.sendMessage(ChatColor.RED + GeyserLocale.getPlayerLocaleString("geyser.commands.packetrecorder.write_error", sender.locale()));
+                    }
+                });
+            }
+            default -> sender.sendMessage(GeyserLocale.getPlayerLocaleString("geyser.commands.packetrecorder.usage", sender.locale(), this.name));
+        }
+    }
+
+    @Override
+    public List<String> subCommands() {
+        return Arrays.asList("start", "stop", "dump");
+    }
+
+    @Override
+    public boolean isSuggestedOpOnly() {
+        return true;
+    }
+}
@@ -131,6 +131,15 @@ public interface GeyserConfiguration {
 
         int getCompressionLevel();
 
+        boolean isAdaptiveCompression();
+
+        List<String> getSnappyCompressionIPs();
+
+        /**
+         * @return Unmodifiable list of {@link CIDRMatcher}s from {@link #getSnappyCompressionIPs()}
+         */
+        List<CIDRMatcher> getSnappyCompressionIPsMatchers();
+
         boolean isEnableProxyProtocol();
 
         List<String> getProxyProtocolWhitelistedIPs();
@@ -194,6 +203,12 @@ public interface GeyserConfiguration {
 
     boolean isDisableCompression();
 
+    int getMaxChunksPerTick();
+
+    boolean isLazyPlayerListSkins();
+
+    int getSharedChunkCacheSize();
+
     int getConfigVersion();
 
     static void checkGeyserConfiguration(GeyserConfiguration geyserConfig, GeyserLogger geyserLogger) {
@@ -212,6 +212,30 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
             return Math.max(-1, Math.min(compressionLevel, 9));
         }
 
+        @Getter
+        @JsonProperty("adaptive-compression")
+        private boolean adaptiveCompression = false;
+
+        @Getter
+        @JsonProperty("snappy-compression-ips")
+        private List<String> snappyCompressionIPs = Collections.emptyList();
+
+        @JsonIgnore
+        private List<CIDRMatcher> snappyCompressionIPsMatchers = null;
+
+        @Override
+        public List<CIDRMatcher> getSnappyCompressionIPsMatchers() {
+            List<CIDRMatcher> matchers = this.snappyCompressionIPsMatchers;
+            if (matchers == null) {
+                synchronized (this) {
+                    this.snappyCompressionIPsMatchers = matchers = snappyCompressionIPs.stream()
+                            .map(CIDRMatcher::new)
+                            .collect(Collectors.toList());
+                }
+            }
+            return Collections.unmodifiableList(matchers);
+        }
+
         @Getter
         @JsonProperty("enable-proxy-protocol")
         private boolean enableProxyProtocol = false;
@@ -333,6 +357,15 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("disable-compression")
     private boolean isDisableCompression = true;
 
+    @JsonProperty("max-chunks-per-tick")
+    private int maxChunksPerTick = -1;
+
+    @JsonProperty("lazy-player-list-skins")
+    private boolean lazyPlayerListSkins = false;
+
+    @JsonProperty("shared-chunk-cache-size")
+    private int sharedChunkCacheSize = 0;
+
     @JsonProperty("config-version")
     private int configVersion = 0;
 
@@ -36,14 +36,20 @@ import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.cloudburstmc.protocol.bedrock.codec.BedrockCodec;
+import org.cloudburstmc.protocol.bedrock.data.PacketCompressionAlgorithm;
 import org.geysermc.floodgate.util.DeviceOs;
 import org.geysermc.floodgate.util.FloodgateInfoHolder;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.api.GeyserApi;
 import org.geysermc.geyser.api.extension.Extension;
 import org.geysermc.geyser.configuration.GeyserConfiguration;
+import org.geysermc.geyser.network.CompressionPolicy;
 import org.geysermc.geyser.network.GameProtocol;
+import org.geysermc.geyser.network.SessionEventLoopBalancer;
+import org.geysermc.geyser.network.netty.GeyserServer;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.SessionTickStats;
+import org.geysermc.geyser.session.TickPhase;
 import org.geysermc.geyser.text.AsteriskSerializer;
 import org.geysermc.geyser.util.CpuUtils;
 import org.geysermc.geyser.util.FileUtils;
@@ -59,6 +65,7 @@ import java.net.UnknownHostException;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -79,12 +86,18 @@ public class DumpInfo {
     private final GeyserConfiguration config;
     private final Floodgate floodgate;
     private final Object2IntMap<DeviceOs> userPlatforms;
+    /**
+     * How many sessions use each compression algorithm and level.
+     */
+    private final Object2IntMap<String> compression;
     private final HashInfo hashInfo;
     private final RamInfo ramInfo;
     private LogsInfo logsInfo;
     private final BootstrapDumpInfo bootstrapInfo;
     private final FlagsInfo flagsInfo;
     private final List<ExtensionInfo> extensionInfo;
+    private final List<EventLoopInfo> eventLoops;
+    private final TickInfo tickInfo;
 
     public DumpInfo(boolean addLog) {
         this.versionInfo = new VersionInfo();
@@ -125,15 +138,33 @@ public class DumpInfo {
         }
 
         this.userPlatforms = new Object2IntOpenHashMap<>();
-        for (GeyserSession session : GeyserImpl.getInstance().getSessionManager().getAllSessions()) {
+        this.compression = new Object2IntOpenHashMap<>();
+        for (GeyserSession session : GeyserImpl.getInstance().getSessionManager().allSessions()) {
             DeviceOs device = session.getClientData().getDeviceOs();
             userPlatforms.put(device, userPlatforms.getOrDefault(device, 0) + 1);
+
+            CompressionPolicy.Settings settings = session.getUpstream().getCompression();
+            if (settings != null) {
+                String key = settings.algorithm() == PacketCompressionAlgorithm.ZLIB ? "zlib level " + settings.level() : settings.algorithm().toString().toLowerCase(Locale.ROOT);
+                compression.put(key, compression.getInt(key) + 1);
+            }
         }
 
         this.bootstrapInfo = GeyserImpl.getInstance().getBootstrap().getDumpInfo();
 
         this.flagsInfo = new FlagsInfo();
 
+        this.eventLoops = new ArrayList<>();
+        GeyserServer geyserServer = GeyserImpl.getInstance().getGeyserServer();
+        if (geyserServer != null) {
+            for (SessionEventLoopBalancer.LoopStats loop : geyserServer.getServerInitializer().getBalancer().getLoops()) {
+                this.eventLoops.add(new EventLoopInfo(loop.getSessions(), loop.getPlacements(), loop.getUtilization(),
+                        loop.getPendingTasks(), loop.getQueueLatencyNanos() / 1_000_000d));
+            }
+        }
+
+        this.tickInfo = new TickInfo();
+
         this.extensionInfo = new ArrayList<>();
         for (Extension extension : GeyserApi.api().extensionManager().extensions()) {
             this.extensionInfo.add(new ExtensionInfo(extension.isEnabled(), extension.name(), extension.description().version(), extension.description().apiVersion(), extension.description().main(), extension.description().authors()));
@@ -291,6 +322,63 @@ public class DumpInfo {
         }
     }
 
+    @Getter
+    @AllArgsConstructor
+    public static class EventLoopInfo {
+        private final int sessions;
+        private final long placements;
+        private final double utilization;
+        private final int pendingTasks;
+        private final double queueLatencyMillis;
+    }
+
+    /**
+     * Tick timings of all sessions combined. Averages are over the last tick of every session; maximums are the longest
+     * of any session. Times are in milliseconds.
+     */
+    @Getter
+    public static class TickInfo {
+        private long ticks;
+        private long overruns;
+        private long skippedPhases;
+        private int tickedEntities;
+        private double averageTickMillis;
+        private double maxTickMillis;
+        private final Map<String, Double> averagePhaseMillis = new LinkedHashMap<>();
+        private final Map<String, Double> maxPhaseMillis = new LinkedHashMap<>();
+
+        TickInfo() {
+            long[] lastPhaseNanos = new long[TickPhase.VALUES.length];
+            long[] maxPhaseNanos = new long[TickPhase.VALUES.length];
+            long lastTickNanos = 0;
+            long maxTickNanos = 0;
+            int sessions = 0;
+            for (GeyserSession session : GeyserImpl.getInstance().getSessionManager().allSessions()) {
+                SessionTickStats stats = session.getTickStats();
+                sessions++;
+                this.ticks += stats.getTicks();
+                this.overruns += stats.getOverruns();
+                this.skippedPhases += stats.getSkippedPhases();
+                this.tickedEntities += stats.getTickedEntities();
+                lastTickNanos += stats.getLastTickNanos();
+                maxTickNanos = Math.max(maxTickNanos, stats.getMaxTickNanos());
+                for (TickPhase phase : TickPhase.VALUES) {
+                    lastPhaseNanos[phase.ordinal()] += stats.getLastPhaseNanos(phase);
+                    maxPhaseNanos[phase.ordinal()] = Math.max(maxPhaseNanos[phase.ordinal()], stats.getMaxPhaseNanos(phase));
+                }
+            }
+
+            int divisor = Math.max(sessions, 1);
+            this.averageTickMillis = lastTickNanos / divisor / 1_000_000d;
+            this.maxTickMillis = maxTickNanos / 1_000_000d;
+            for (TickPhase phase : TickPhase.VALUES) {
+                String name = phase.name().toLowerCase(Locale.ROOT);
+                this.averagePhaseMillis.put(name, lastPhaseNanos[phase.ordinal()] / divisor / 1_000_000d);
+                this.maxPhaseMillis.put(name, maxPhaseNanos[phase.ordinal()] / 1_000_000d);
+            }
+        }
+    }
+
     @Getter
     @AllArgsConstructor
     public static class ExtensionInfo {
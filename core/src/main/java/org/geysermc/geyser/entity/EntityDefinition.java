@@ -37,6 +37,9 @@ import org.geysermc.geyser.entity.type.Entity;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.translator.entity.EntityMetadataTranslator;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.function.BiConsumer;
@@ -48,8 +51,113 @@ import java.util.function.BiConsumer;
  *
  * @param <T> the entity type this definition represents
  */
-public record EntityDefinition<T extends Entity>(EntityFactory<T> factory, EntityType entityType, String identifier,
-                                                 float width, float height, float offset, List<EntityMetadataTranslator<? super T, ?, ?>> translators) {
+public final class EntityDefinition<T extends Entity> {
+    private final EntityFactory<T> factory;
+    private final EntityType entityType;
+    private final String identifier;
+    private final float width;
+    private final float height;
+    private final float offset;
+    /**
+     * The metadata translators, indexed by metadata ID. Null where we don't translate the metadata.
+     */
+    private final EntityMetadataTranslator<? super T, ?, ?>[] translators;
+    /**
+     * The metadata type that each translator accepts, indexed by metadata ID. Null where there is no translator.
+     */
+    private final MetadataType<?>[] acceptedTypes;
+
+    /**
+     * Definitions built before {@link EntityDefinitions#init()}, which adds them to the registries. This way, loading
+     * the definitions does not require the registries to be loaded. Null once they have been registered.
+     */
+    private static List<EntityDefinition<?>> pendingRegistrations = new ArrayList<>();
+
+    private EntityDefinition(EntityFactory<T> factory, EntityType entityType, String identifier, float width, float height,
+                             float offset, EntityMetadataTranslator<? super T, ?, ?>[] translators) {
+        this.factory = factory;
+        this.entityType = entityType;
+        this.identifier = identifier;
+        this.width = width;
+        this.height = height;
+        this.offset = offset;
+        this.translators = translators;
+        this.acceptedTypes = acceptedTypes(translators);
+    }
+
+    public EntityFactory<T> factory() {
+        return factory;
+    }
+
+    public EntityType entityType() {
+        return entityType;
+    }
+
+    public String identifier() {
+        return identifier;
+    }
+
+    public float width() {
+        return width;
+    }
+
+    public float height() {
+        return height;
+    }
+
+    public float offset() {
+        return offset;
+    }
+
+    /**
+     * @return the metadata translators, indexed by metadata ID. Null where we don't translate the metadata
+     */
+    public List<EntityMetadataTranslator<? super T, ?, ?>> translators() {
+        return Collections.unmodifiableList(Arrays.asList(translators));
+    }
+
+    /**
+     * @return the metadata type that each translator accepts, indexed by metadata ID. Null where there is no translator
+     */
+    public List<MetadataType<?>> acceptedTypes() {
+        return Collections.unmodifiableList(Arrays.asList(acceptedTypes));
+    }
+
+    private static MetadataType<?>[] acceptedTypes(EntityMetadataTranslator<?, ?, ?>[] translators) {
+        MetadataType<?>[] acceptedTypes = new MetadataType<?>[translators.length];
+        for (int i = 0; i < translators.length; i++) {
+            EntityMetadataTranslator<?, ?, ?> translator = translators[i];
+            // Null translators are placeholders for metadata we don't translate
+            acceptedTypes[i] = translator == null ? null : translator.acceptedType();
+        }
+        return acceptedTypes;
+    }
+
+    /**
+     * Registers every definition that was built before the registries could be used.
+     */
+    static synchronized void registerPending() {
+        if (pendingRegistrations == null) {
+            return;
+        }
+        for (EntityDefinition<?> definition : pendingRegistrations) {
+            register(definition);
+        }
+        pendingRegistrations = null;
+    }
+
+    private static synchronized void registerOrQueue(EntityDefinition<?> definition) {
+        if (pendingRegistrations != null) {
+            pendingRegistrations.add(definition);
+        } else {
+            register(definition);
+        }
+    }
+
+    private static void register(EntityDefinition<?> definition) {
+        Registries.ENTITY_DEFINITIONS.get().putIfAbsent(definition.entityType(), definition);
+        Registries.JAVA_ENTITY_IDENTIFIERS.get().putIfAbsent("minecraft:" + definition.entityType().name().toLowerCase(Locale.ROOT), definition);
+    }
 
     public static <T extends Entity> Builder<T> inherited(EntityFactory<T> factory, EntityDefinition<? super T> parent) {
         return new Builder<>(factory, parent.entityType, parent.identifier, parent.width, parent.height, parent.offset, new ObjectArrayList<>(parent.translators));
@@ -59,22 +167,42 @@ public record EntityDefinition<T extends Entity>(EntityFactory<T> factory, Entit
         return new Builder<>(factory);
     }
 
-    public <M> void translateMetadata(T entity, EntityMetadata<M, ? extends MetadataType<M>> metadata) {
-        EntityMetadataTranslator<? super T, M, EntityMetadata<M, ? extends MetadataType<M>>> translator = (EntityMetadataTranslator<? super T, M, EntityMetadata<M, ? extends MetadataType<M>>>) this.translators.get(metadata.getId());
+    /**
+     * Translates one entry of metadata sent by the server for an entity of this definition.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void translateMetadata(Entity entity, EntityMetadata<?, ?> metadata) {
+        int id = metadata.getId();
+        if (id >= this.translators.length) {
+            if (GeyserImpl.getInstance().getConfig().isDebugMode()) {
+                // Minecraft client just ignores these
+                GeyserImpl.getInstance().getLogger().warning("Metadata ID " + id + " is out of bounds of known entity metadata size " + this.translators.length + " for entity type " + this.entityType);
+                GeyserImpl.getInstance().getLogger().debug(metadata.toString());
+            }
+            return;
+        }
+
+        EntityMetadataTranslator<? super T, ?, ?> translator = this.translators[id];
         if (translator == null) {
             // This can safely happen; it means we don't translate this entity metadata
             return;
         }
 
-        if (translator.acceptedType() != metadata.getType()) {
-            GeyserImpl.getInstance().getLogger().warning("Metadata ID " + metadata.getId() + " was received with type " + metadata.getType() + " but we expected " + translator.acceptedType() + " for " + entity.getDefinition().entityType());
+        if (this.acceptedTypes[id] != metadata.getType()) {
+            GeyserImpl.getInstance().getLogger().warning("Metadata ID " + id + " was received with type " + metadata.getType() + " but we expected " + this.acceptedTypes[id] + " for " + this.entityType);
             if (GeyserImpl.getInstance().getConfig().isDebugMode()) {
                 GeyserImpl.getInstance().getLogger().debug(metadata.toString());
             }
             return;
         }
 
-        translator.translate(entity, metadata);
+        // The entity is always of this definition, and the type of the metadata has just been checked
+        ((EntityMetadataTranslator) translator).translate(entity, metadata);
+    }
+
+    @Override
+    public String toString() {
+        return "EntityDefinition{entityType=" + entityType + ", identifier=" + identifier + "}";
     }
 
     @Setter
@@ -148,10 +276,11 @@ public record EntityDefinition<T extends Entity>(EntityFactory<T> factory, Entit
             if (identifier == null && type != null) {
                 identifier = "minecraft:" + type.name().toLowerCase(Locale.ROOT);
             }
+            @SuppressWarnings("unchecked")
+            EntityMetadataTranslator<? super T, ?, ?>[] translators = this.translators.toArray(new EntityMetadataTranslator[0]);
             EntityDefinition<T> definition = new EntityDefinition<>(factory, type, identifier, width, height, offset, translators);
             if (register && definition.entityType() != null) {
-                Registries.ENTITY_DEFINITIONS.get().putIfAbsent(definition.entityType(), definition);
-                Registries.JAVA_ENTITY_IDENTIFIERS.get().putIfAbsent("minecraft:" + type.name().toLowerCase(Locale.ROOT), definition);
+                registerOrQueue(definition);
             }
             return definition;
         }
@@ -25,36 +25,164 @@
 
 package org.geysermc.geyser.entity;
 
-import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import org.cloudburstmc.protocol.bedrock.data.entity.EntityDataMap;
 import org.cloudburstmc.protocol.bedrock.data.entity.EntityDataType;
+import org.cloudburstmc.protocol.bedrock.data.entity.EntityDataTypes;
 
-import java.util.Map;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.StringJoiner;
 
 /**
  * A write-only wrapper for temporarily storing entity metadata that will be sent to Bedrock.
+ * <p>
+ * Numeric values passed through the primitive {@code put} overloads are stored unboxed, and are only boxed once
+ * when they are written into the outgoing packet. Which data types are dirty is tracked in a bitmask indexed by a
+ * fixed slot per data type, so overwriting a value does not need a map lookup.
  */
 public final class GeyserDirtyMetadata {
-    private final Map<EntityDataType<?>, Object> metadata = new Object2ObjectLinkedOpenHashMap<>();
+    private static final byte OBJECT = 0;
+    private static final byte BYTE = 1;
+    private static final byte SHORT = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte FLOAT = 5;
+
+    /**
+     * A fixed slot for every data type declared in {@link EntityDataTypes}.
+     */
+    private static final Object2IntMap<EntityDataType<?>> SLOTS;
+
+    static {
+        Object2IntMap<EntityDataType<?>> slots = new Object2IntOpenHashMap<>();
+        slots.defaultReturnValue(-1);
+        for (Field field : EntityDataTypes.class.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            try {
+                if (field.get(null) instanceof EntityDataType<?> type && !slots.containsKey(type)) {
+                    slots.put(type, slots.size());
+                }
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        SLOTS = slots;
+    }
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * Which slots currently have a pending value.
+     */
+    private final long[] dirtySlots = new long[(SLOTS.size() + 63) >>> 6];
+
+    private EntityDataType<?>[] types = new EntityDataType<?>[INITIAL_CAPACITY];
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    private long[] primitives = new long[INITIAL_CAPACITY];
+    private Object[] objects = new Object[INITIAL_CAPACITY];
+    private int size = 0;
 
     public <T> void put(EntityDataType<T> entityData, T value) {
-        metadata.put(entityData, value);
+        int index = indexFor(entityData);
+        kinds[index] = OBJECT;
+        objects[index] = value;
+    }
+
+    public void put(EntityDataType<Byte> entityData, byte value) {
+        putPrimitive(entityData, BYTE, value);
+    }
+
+    public void put(EntityDataType<Short> entityData, short value) {
+        putPrimitive(entityData, SHORT, value);
+    }
+
+    public void put(EntityDataType<Integer> entityData, int value) {
+        putPrimitive(entityData, INT, value);
+    }
+
+    public void put(EntityDataType<Long> entityData, long value) {
+        putPrimitive(entityData, LONG, value);
+    }
+
+    public void put(EntityDataType<Float> entityData, float value) {
+        putPrimitive(entityData, FLOAT, Float.floatToRawIntBits(value));
+    }
+
+    private void putPrimitive(EntityDataType<?> entityData, byte kind, long value) {
+        int index = indexFor(entityData);
+        kinds[index] = kind;
+        primitives[index] = value;
+        objects[index] = null;
     }
 
     /**
-     * Applies the contents of the dirty metadata into the input and clears the contents of our map.
+     * @return the position of this data type in the pending entries, adding a new entry if it is not yet dirty
+     */
+    private int indexFor(EntityDataType<?> entityData) {
+        int slot = SLOTS.getInt(entityData);
+        if (slot == -1 || (dirtySlots[slot >>> 6] & (1L << slot)) != 0) {
+            // Unknown types can't use the bitmask, so they are always searched for
+            for (int i = 0; i < size; i++) {
+                if (types[i] == entityData) {
+                    return i;
+                }
+            }
+        }
+        if (slot != -1) {
+            dirtySlots[slot >>> 6] |= 1L << slot;
+        }
+
+        if (size == types.length) {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+            primitives = Arrays.copyOf(primitives, capacity);
+            objects = Arrays.copyOf(objects, capacity);
+        }
+        types[size] = entityData;
+        return size++;
+    }
+
+    /**
+     * Applies the contents of the dirty metadata into the input and clears our contents.
      */
     public void apply(EntityDataMap map) {
-        map.putAll(metadata);
-        metadata.clear();
+        for (int i = 0; i < size; i++) {
+            map.put(types[i], valueAt(i));
+            types[i] = null;
+            objects[i] = null;
+        }
+        size = 0;
+        Arrays.fill(dirtySlots, 0L);
+    }
+
+    private Object valueAt(int index) {
+        long value = primitives[index];
+        return switch (kinds[index]) {
+            case BYTE -> (byte) value;
+            case SHORT -> (short) value;
+            case INT -> (int) value;
+            case LONG -> value;
+            case FLOAT -> Float.intBitsToFloat((int) value);
+            default -> objects[index];
+        };
     }
 
     public boolean hasEntries() {
-        return !metadata.isEmpty();
+        return size != 0;
     }
 
     @Override
     public String toString() {
-        return metadata.toString();
+        StringJoiner joiner = new StringJoiner(", ", "{", "}");
+        for (int i = 0; i < size; i++) {
+            joiner.add(types[i] + "=" + valueAt(i));
+        }
+        return joiner.toString();
     }
 }
@@ -48,15 +48,27 @@ public class EvokerFangsEntity extends Entity implements Tickable {
     @Override
     public void tick() {
         if (attackStarted) {
-            if (--this.limitedLife > 0 && this.limitedLife % 2 == 0) { // Matches Bedrock behavior
-                dirtyMetadata.put(EntityDataTypes.DATA_LIFETIME_TICKS, this.limitedLife);
-                updateBedrockMetadata();
+            if (--this.limitedLife > 0) {
+                if (this.limitedLife % 2 == 0) { // Matches Bedrock behavior
+                    dirtyMetadata.put(EntityDataTypes.DATA_LIFETIME_TICKS, this.limitedLife);
+                    updateBedrockMetadata();
+                }
+            } else {
+                // Nothing left to count down
+                session.getEntityCache().sleep(this);
             }
         }
     }
 
+    @Override
+    public boolean startsAwake() {
+        // Nothing happens until the attack starts
+        return false;
+    }
+
     public void setAttackStarted() {
         this.attackStarted = true;
+        session.getEntityCache().wakeUp(this);
         if (!silent) {
             // Play the chomp sound
             PlaySoundPacket packet = new PlaySoundPacket();
@@ -46,12 +46,14 @@ public class TNTEntity extends Entity implements Tickable {
         currentTick = entityMetadata.getPrimitiveValue();
         setFlag(EntityFlag.IGNITED, true);
         dirtyMetadata.put(EntityDataTypes.FUSE_TIME, currentTick);
+        session.getEntityCache().wakeUp(this);
     }
 
     @Override
     public void tick() {
         if (currentTick == 0) {
             // No need to update the fuse when there is none
+            session.getEntityCache().sleep(this);
             return;
         }
 
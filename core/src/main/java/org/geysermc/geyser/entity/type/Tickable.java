@@ -30,4 +30,12 @@ package org.geysermc.geyser.entity.type;
  */
 public interface Tickable {
     void tick();
+
+    /**
+     * @return if this entity should be ticked as soon as it spawns. If false, the entity is not ticked until it is
+     * woken up through {@link org.geysermc.geyser.session.cache.EntityCache#wakeUp(Tickable)}.
+     */
+    default boolean startsAwake() {
+        return true;
+    }
 }
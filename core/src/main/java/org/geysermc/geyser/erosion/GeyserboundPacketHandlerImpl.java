@@ -159,7 +159,7 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
 
         session.executeInEventLoop(() -> {
             PistonCache pistonCache = session.getPistonCache();
-            PistonBlockEntity blockEntity = pistonCache.getPistons().computeIfAbsent(position, pos ->
+            PistonBlockEntity blockEntity = pistonCache.computePistonIfAbsent(position, pos ->
                     new PistonBlockEntity(session, position, orientation, packet.isSticky(), !isExtend));
             blockEntity.setAction(isExtend ? PistonValueType.PUSHING : PistonValueType.PULLING, attachedBlocks);
         });
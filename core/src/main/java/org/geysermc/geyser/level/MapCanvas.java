@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The Java color IDs of a whole map, shared between every session that has a map with the same image.
+ * <p>
+ * Canvases are interned by their contents rather than by map ID, since Geyser can't tell which server behind a proxy
+ * a map ID belongs to. A canvas is never modified once acquired; {@link #update(int, int, int, int, byte[])} applies
+ * changes to a copy and acquires that instead.
+ */
+public final class MapCanvas {
+    public static final int SIZE = 128;
+
+    /**
+     * Every canvas held by at least one session. Also guards {@link #references}.
+     */
+    private static final Map<MapCanvas, MapCanvas> CANVASES = new HashMap<>();
+
+    private final byte[] colors;
+    private final int hash;
+    private int references;
+
+    private MapCanvas(byte[] colors) {
+        this.colors = colors;
+        this.hash = Arrays.hashCode(colors);
+    }
+
+    /**
+     * @return a blank canvas, to be {@link #release() released} once no longer used
+     */
+    public static MapCanvas acquireBlank() {
+        return acquire(new byte[SIZE * SIZE]);
+    }
+
+    /**
+     * Returns the canvas with these colors, reusing an existing one if another session already has it.
+     * Every canvas acquired must be {@link #release() released} once no longer used.
+     *
+     * @param colors the Java color IDs of every pixel, row by row. Must not be modified afterwards.
+     */
+    public static MapCanvas acquire(byte[] colors) {
+        if (colors.length != SIZE * SIZE) {
+            throw new IllegalArgumentException("Map canvases must have " + (SIZE * SIZE) + " pixels, not " + colors.length);
+        }
+
+        MapCanvas canvas = new MapCanvas(colors);
+        synchronized (CANVASES) {
+            MapCanvas existing = CANVASES.putIfAbsent(canvas, canvas);
+            if (existing != null) {
+                canvas = existing;
+            }
+            canvas.references++;
+        }
+        return canvas;
+    }
+
+    public void release() {
+        synchronized (CANVASES) {
+            if (--this.references == 0) {
+                CANVASES.remove(this);
+            }
+        }
+    }
+
+    /**
+     * Draws a Java map update on top of this canvas. This canvas is released, and the updated canvas acquired in its place.
+     *
+     * @param x the X offset of the update
+     * @param y the Y offset of the update
+     * @param columns the width of the update
+     * @param rows the height of the update
+     * @param data the Java color IDs of the update, row by row
+     * @return the updated canvas
+     */
+    public MapCanvas update(int x, int y, int columns, int rows, byte[] data) {
+        byte[] updated;
+        if (x == 0 && y == 0 && columns == SIZE && rows == SIZE && data.length == SIZE * SIZE) {
+            // The whole map; this usually only happens on spawn for the initial image
+            updated = data;
+        } else {
+            updated = this.colors.clone();
+            int width = Math.min(columns, SIZE - x);
+            int height = Math.min(rows, SIZE - y);
+            for (int row = 0; row < height; row++) {
+                System.arraycopy(data, row * columns, updated, (y + row) * SIZE + x, width);
+            }
+        }
+
+        MapCanvas canvas = acquire(updated);
+        release();
+        return canvas;
+    }
+
+    /**
+     * @return the ARGB colors of this canvas, as Bedrock expects them
+     */
+    public int[] toARGB() {
+        int[] argb = new int[this.colors.length];
+        for (int i = 0; i < argb.length; i++) {
+            argb[i] = MapColor.toARGB(this.colors[i]);
+        }
+        return argb;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MapCanvas other)) {
+            return false;
+        }
+        return this.hash == other.hash && Arrays.equals(this.colors, other.colors);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+}
@@ -276,6 +276,16 @@ public enum MapColor {
     COLOR_247(79, 88, 67);
 
     private static final MapColor[] VALUES = values();
+    /**
+     * The ARGB value of every unsigned Java color ID, so map data can be converted without going through the enum.
+     */
+    private static final int[] ARGB_BY_ID = new int[256];
+
+    static {
+        for (int i = 0; i < ARGB_BY_ID.length; i++) {
+            ARGB_BY_ID[i] = fromId(i).getARGB();
+        }
+    }
 
     private final int value;
 
@@ -297,4 +307,12 @@ public enum MapColor {
     public int getARGB() {
         return value;
     }
+
+    /**
+     * @param colorId a color ID as sent in Java map data
+     * @return the ARGB value of this color
+     */
+    public static int toARGB(byte colorId) {
+        return ARGB_BY_ID[colorId & 0xFF];
+    }
 }
\ No newline at end of file
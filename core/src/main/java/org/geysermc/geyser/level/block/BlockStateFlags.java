@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.block;
+
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.translator.level.block.entity.BedrockOnlyBlockEntity;
+import org.geysermc.geyser.util.BlockEntityUtils;
+
+import java.util.BitSet;
+
+/**
+ * Properties of every Java block state packed into one byte, so code that runs for every block, such as chunk
+ * translation, only needs one array read per block instead of several map lookups.
+ */
+public final class BlockStateFlags {
+    public static final int WATERLOGGED = 1;
+    public static final int FLOWER_POT = 1 << 1;
+    public static final int PISTON = 1 << 2;
+    public static final int NON_WATER_CAULDRON = 1 << 3;
+    public static final int SKULL = 1 << 4;
+    public static final int MOVING_PISTON = 1 << 5;
+    /**
+     * Blocks handled by one of {@link BlockEntityUtils#BEDROCK_ONLY_BLOCK_ENTITIES}.
+     */
+    public static final int BEDROCK_ONLY_BLOCK_ENTITY_TRANSLATOR = 1 << 6;
+
+    /**
+     * Blocks that are only block entities on Bedrock, and need one sent with the chunk.
+     */
+    public static final int BEDROCK_ONLY_BLOCK_ENTITY = FLOWER_POT | PISTON | NON_WATER_CAULDRON;
+
+    private static byte[] FLAGS = new byte[0];
+
+    private BlockStateFlags() {
+    }
+
+    /**
+     * @param javaState the Java block state
+     * @return the flags of this block state, or 0 if it is unknown
+     */
+    public static int get(int javaState) {
+        byte[] flags = FLAGS;
+        if (javaState < 0 || javaState >= flags.length) {
+            return 0;
+        }
+        return flags[javaState];
+    }
+
+    /**
+     * Computes the flags of every block state. Must be called once all block state values have been stored.
+     *
+     * @param stateCount the amount of Java block states
+     */
+    public static void populate(int stateCount) {
+        BitSet waterlogged = BlockRegistries.WATERLOGGED.get();
+        byte[] flags = new byte[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            int value = 0;
+            if (waterlogged.get(state)) {
+                value |= WATERLOGGED;
+            }
+            if (BlockStateValues.getFlowerPotValues().containsKey(state)) {
+                value |= FLOWER_POT;
+            }
+            if (BlockStateValues.getPistonValues().containsKey(state)) {
+                value |= PISTON;
+            }
+            if (BlockStateValues.isNonWaterCauldron(state)) {
+                value |= NON_WATER_CAULDRON;
+            }
+            if (BlockStateValues.getSkullVariant(state) != -1) {
+                value |= SKULL;
+            }
+            if (BlockStateValues.isMovingPiston(state)) {
+                value |= MOVING_PISTON;
+            }
+            for (BedrockOnlyBlockEntity blockEntity : BlockEntityUtils.BEDROCK_ONLY_BLOCK_ENTITIES) {
+                if (blockEntity.isBlock(state)) {
+                    value |= BEDROCK_ONLY_BLOCK_ENTITY_TRANSLATOR;
+                    break;
+                }
+            }
+            flags[state] = (byte) value;
+        }
+        FLAGS = flags;
+    }
+}
@@ -33,6 +33,8 @@ import org.cloudburstmc.protocol.common.util.VarInts;
 import org.geysermc.geyser.level.chunk.bitarray.BitArray;
 import org.geysermc.geyser.level.chunk.bitarray.BitArrayVersion;
 
+import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.function.IntConsumer;
 
 @Getter
@@ -131,6 +133,19 @@ public class BlockStorage {
         return true;
     }
 
+    /**
+     * @return true if the other storage would be written to the network the same way as this one
+     */
+    public boolean contentEquals(@Nullable BlockStorage other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || this.bitArray.getVersion() != other.bitArray.getVersion()) {
+            return false;
+        }
+        return this.palette.equals(other.palette) && Arrays.equals(this.bitArray.getWords(), other.bitArray.getWords());
+    }
+
     public BlockStorage copy() {
         return new BlockStorage(this.bitArray.copy(), new IntArrayList(this.palette));
     }
@@ -25,7 +25,10 @@
 
 package org.geysermc.geyser.level.chunk;
 
+import com.github.steveice10.mc.protocol.data.game.chunk.BitStorage;
 import com.github.steveice10.mc.protocol.data.game.chunk.DataPalette;
+import com.github.steveice10.mc.protocol.data.game.chunk.palette.GlobalPalette;
+import com.github.steveice10.mc.protocol.data.game.chunk.palette.Palette;
 
 /**
  * Acts as a lightweight chunk class that doesn't store biomes, heightmaps or block entities.
@@ -35,4 +38,29 @@ public record GeyserChunk(DataPalette[] sections) {
     public static GeyserChunk from(DataPalette[] sections) {
         return new GeyserChunk(sections);
     }
+
+    /**
+     * @return roughly how much memory the blocks of this column take up, in bytes
+     */
+    public long estimateSize() {
+        long size = 16 + sections.length * 8L;
+        for (DataPalette section : sections) {
+            if (section == null) {
+                continue;
+            }
+            // The section, its palette and its storage
+            size += 64;
+            BitStorage storage = section.getStorage();
+            if (storage != null) {
+                // Null for single value palettes
+                size += storage.getData().length * 8L;
+            }
+            Palette palette = section.getPalette();
+            if (!(palette instanceof GlobalPalette)) {
+                // Each entry is stored both ways
+                size += palette.size() * 8L;
+            }
+        }
+        return size;
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import com.google.common.hash.HashCode;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * Stores chunk columns once for every session that received identical ones, so players standing in the same area
+ * of the same server don't each keep a copy of its blocks.
+ * <p>
+ * Columns are keyed by server, world and position, and are only shared when their content hash matches. Shared
+ * columns must never be changed; sessions keep their own block changes on top of them. Columns that no session
+ * references anymore are kept until the memory budget is exceeded, then evicted least recently released first.
+ */
+public final class SharedChunkStore {
+    private final long maxBytes;
+
+    private final Map<ColumnKey, SharedColumn> columns = new Object2ObjectOpenHashMap<>();
+    /**
+     * Columns that are no longer referenced by any session, least recently released first.
+     */
+    private final LinkedHashSet<SharedColumn> unreferenced = new LinkedHashSet<>();
+    private long usedBytes;
+
+    public SharedChunkStore(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Gets the column stored for this key if it has the same content, or stores the given column otherwise.
+     * The returned column must be {@link #release(SharedColumn) released} once the session no longer needs it.
+     *
+     * @param key where this column is
+     * @param contentHash the hash of the column as it was sent by the server
+     * @param size the estimated amount of memory the column takes up, in bytes
+     * @param chunk the column that was just received
+     * @return the column the session should use
+     */
+    public synchronized SharedColumn acquire(ColumnKey key, HashCode contentHash, long size, GeyserChunk chunk) {
+        SharedColumn column = columns.get(key);
+        if (column != null && column.contentHash.equals(contentHash)) {
+            if (column.references++ == 0) {
+                unreferenced.remove(column);
+            }
+            return column;
+        }
+
+        if (column != null && column.references == 0) {
+            unreferenced.remove(column);
+            usedBytes -= column.size;
+        }
+        // Otherwise, sessions still using the old column keep it until they release it
+
+        SharedColumn created = new SharedColumn(key, contentHash, chunk, size);
+        created.references = 1;
+        columns.put(key, created);
+        usedBytes += size;
+        evict();
+        return created;
+    }
+
+    public synchronized void release(SharedColumn column) {
+        if (--column.references != 0) {
+            return;
+        }
+
+        if (columns.get(column.key) == column) {
+            unreferenced.add(column);
+            evict();
+        } else {
+            // This column was replaced by newer content, and nobody can use it anymore
+            usedBytes -= column.size;
+        }
+    }
+
+    /**
+     * @return the estimated amount of memory all stored columns take up, in bytes
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    private void evict() {
+        Iterator<SharedColumn> iterator = unreferenced.iterator();
+        while (usedBytes > maxBytes && iterator.hasNext()) {
+            SharedColumn column = iterator.next();
+            iterator.remove();
+            columns.remove(column.key);
+            usedBytes -= column.size;
+        }
+    }
+
+    /**
+     * @param server the address of the server the column was received from
+     * @param world the Java world name the column is in
+     * @param position the position of the column, see {@link org.geysermc.geyser.util.MathUtils#chunkPositionToLong(int, int)}
+     */
+    public record ColumnKey(String server, String world, long position) {
+    }
+
+    public static final class SharedColumn {
+        private final ColumnKey key;
+        private final HashCode contentHash;
+        private final GeyserChunk chunk;
+        private final long size;
+        /**
+         * Guarded by the store.
+         */
+        private int references;
+
+        private SharedColumn(ColumnKey key, HashCode contentHash, GeyserChunk chunk, long size) {
+            this.key = key;
+            this.contentHash = contentHash;
+            this.chunk = chunk;
+            this.size = size;
+        }
+
+        /**
+         * @return the blocks of this column, which must not be changed
+         */
+        public GeyserChunk chunk() {
+            return chunk;
+        }
+    }
+}
@@ -202,7 +202,7 @@ public class CollisionManager {
                 box.getMiddleZ());
 
         // Expand volume by 1 in each direction to include moving blocks
-        double pistonExpand = session.getPistonCache().getPistons().isEmpty() ? 0 : 1;
+        double pistonExpand = session.getPistonCache().hasPistons() ? 1 : 0;
 
         // Loop through all blocks that could collide
         int minCollisionX = (int) Math.floor(position.getX() - ((box.getSizeX() / 2) + COLLISION_TOLERANCE + pistonExpand));
@@ -261,7 +261,7 @@ public class CollisionManager {
     public Vector3d correctPlayerMovement(Vector3d movement, boolean checkWorld, boolean teleported) {
         // On the teleported check: see https://github.com/GeyserMC/Geyser/issues/2540
         // As of this commit we don't know how it happens but we don't need to check movement here anyway in that case
-        if (teleported || (!checkWorld && session.getPistonCache().getPistons().isEmpty())) { // There is nothing to check
+        if (teleported || (!checkWorld && !session.getPistonCache().hasPistons())) { // There is nothing to check
             return movement;
         }
         return correctMovement(movement, playerBoundingBox, session.getPlayerEntity().isOnGround(), PLAYER_STEP_UP, checkWorld);
@@ -352,7 +352,7 @@ public class CollisionManager {
                     offset = blockCollision.computeCollisionOffset(x, y, z, boundingBox, axis, offset);
                 }
             }
-            offset = session.getPistonCache().computeCollisionOffset(Vector3i.from(x, y, z), boundingBox, axis, offset);
+            offset = session.getPistonCache().computeCollisionOffset(x, y, z, boundingBox, axis, offset);
             if (Math.abs(offset) < COLLISION_TOLERANCE) {
                 return 0;
             }
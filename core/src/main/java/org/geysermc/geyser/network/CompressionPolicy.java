@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import org.cloudburstmc.protocol.bedrock.data.PacketCompressionAlgorithm;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.configuration.GeyserConfiguration;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+/**
+ * Chooses how the packets of a Bedrock connection are compressed.
+ * <p>
+ * By default, every connection uses zlib at the configured level. With adaptive compression enabled, clients connecting
+ * from an address the config lists as a fast link use Snappy, which costs far less CPU, and the zlib level used for
+ * everyone else is lowered while the machine is short on CPU.
+ * <p>
+ * Whether a link is fast is never guessed from the address alone: behind a UDP reverse proxy or Docker's NAT without
+ * PROXY protocol, every client appears to connect from a local address.
+ */
+public final class CompressionPolicy {
+    /**
+     * Packets smaller than this are not compressed.
+     */
+    public static final int COMPRESSION_THRESHOLD = 512;
+
+    private static final OperatingSystemMXBean OS_BEAN = ManagementFactory.getOperatingSystemMXBean();
+
+    private CompressionPolicy() {
+    }
+
+    /**
+     * @param address the real address of the client
+     */
+    public static Settings choose(GeyserImpl geyser, InetSocketAddress address) {
+        int configuredLevel = geyser.getConfig().getBedrock().getCompressionLevel();
+        if (!geyser.getConfig().getBedrock().isAdaptiveCompression()) {
+            return new Settings(PacketCompressionAlgorithm.ZLIB, configuredLevel);
+        }
+
+        if (isFastLink(geyser.getConfig().getBedrock(), address.getAddress())) {
+            // Snappy has no compression levels
+            return new Settings(PacketCompressionAlgorithm.SNAPPY, configuredLevel);
+        }
+
+        double cpuLoad = cpuLoad();
+        int level = configuredLevel;
+        if (cpuLoad >= 0.85) {
+            level = Math.min(level, 1);
+        } else if (cpuLoad >= 0.6) {
+            level = Math.min(level, 4);
+        }
+        return new Settings(PacketCompressionAlgorithm.ZLIB, level);
+    }
+
+    /**
+     * @return if this address is configured as a fast link, and is not the address of a known proxy
+     */
+    private static boolean isFastLink(GeyserConfiguration.IBedrockConfiguration config, InetAddress address) {
+        if (address == null) {
+            return false;
+        }
+        // Without PROXY protocol, this would be the proxy's address and not the client's
+        for (CIDRMatcher matcher : config.getWhitelistedIPsMatchers()) {
+            if (matcher.matches(address)) {
+                return false;
+            }
+        }
+        for (CIDRMatcher matcher : config.getSnappyCompressionIPsMatchers()) {
+            if (matcher.matches(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the recent CPU load of the machine, from 0 to 1, or -1 if it is not known
+     */
+    private static double cpuLoad() {
+        if (OS_BEAN instanceof com.sun.management.OperatingSystemMXBean sunBean) {
+            return sunBean.getCpuLoad();
+        }
+        double loadAverage = OS_BEAN.getSystemLoadAverage();
+        return loadAverage < 0 ? -1 : loadAverage / OS_BEAN.getAvailableProcessors();
+    }
+
+    public record Settings(PacketCompressionAlgorithm algorithm, int level) {
+    }
+}
@@ -27,7 +27,9 @@ package org.geysermc.geyser.network;
 
 import io.netty.channel.Channel;
 import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
 import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.Getter;
 import org.cloudburstmc.protocol.bedrock.BedrockPeer;
 import org.cloudburstmc.protocol.bedrock.BedrockServerSession;
 import org.cloudburstmc.protocol.bedrock.netty.initializer.BedrockServerInitializer;
@@ -42,9 +44,12 @@ public class GeyserServerInitializer extends BedrockServerInitializer {
     private final GeyserImpl geyser;
     // There is a constructor that doesn't require inputting threads, but older Netty versions don't have it
     private final DefaultEventLoopGroup eventLoopGroup = new DefaultEventLoopGroup(0, new DefaultThreadFactory("Geyser player thread"));
+    @Getter
+    private final SessionEventLoopBalancer balancer;
 
     public GeyserServerInitializer(GeyserImpl geyser) {
         this.geyser = geyser;
+        this.balancer = new SessionEventLoopBalancer(geyser, eventLoopGroup);
     }
 
     @Override
@@ -63,7 +68,9 @@ public class GeyserServerInitializer extends BedrockServerInitializer {
             }
 
             bedrockServerSession.setLogging(true);
-            GeyserSession session = new GeyserSession(this.geyser, bedrockServerSession, this.eventLoopGroup.next());
+            EventLoop eventLoop = this.balancer.next();
+            bedrockServerSession.getPeer().getChannel().closeFuture().addListener(future -> this.balancer.release(eventLoop));
+            GeyserSession session = new GeyserSession(this.geyser, bedrockServerSession, eventLoop);
             bedrockServerSession.setPacketHandler(new UpstreamPacketHandler(this.geyser, session));
             this.geyser.eventBus().fire(new SessionInitializeEvent(session));
         } catch (Throwable e) {
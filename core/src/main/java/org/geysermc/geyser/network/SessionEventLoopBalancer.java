@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SingleThreadEventLoop;
+import io.netty.util.concurrent.EventExecutor;
+import lombok.Getter;
+import org.geysermc.geyser.GeyserImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Picks the event loop a new session is placed on. Instead of plain round-robin, the least-loaded loop is chosen,
+ * based on how busy each loop was recently, how many tasks it has queued and how many sessions it already holds.
+ * <p>
+ * "Busy" only covers time spent ticking sessions, as measured by the {@link org.geysermc.geyser.session.SessionTickScheduler}.
+ * Packet translation, which is most of a loop's work, is not timed directly; it shows up in the pending task count
+ * and the queue latency instead.
+ * <p>
+ * Sessions stay on the loop they were placed on; all of a session's state is confined to that loop.
+ */
+public final class SessionEventLoopBalancer {
+    private static final long SAMPLE_INTERVAL_MILLIS = 1000;
+    /**
+     * How much a new sample counts towards the moving averages.
+     */
+    private static final double SMOOTHING = 0.3;
+
+    private final GeyserImpl geyser;
+    private final List<LoopStats> loops;
+
+    public SessionEventLoopBalancer(GeyserImpl geyser, EventLoopGroup group) {
+        this.geyser = geyser;
+        List<LoopStats> loops = new ArrayList<>();
+        for (EventExecutor executor : group) {
+            loops.add(new LoopStats((EventLoop) executor));
+        }
+        this.loops = Collections.unmodifiableList(loops);
+
+        geyser.getScheduledThread().scheduleAtFixedRate(this::sample, SAMPLE_INTERVAL_MILLIS, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Chooses the loop for a new session and counts the session towards it until {@link #release(EventLoop)} is called.
+     */
+    public EventLoop next() {
+        LoopStats best = null;
+        double bestScore = Double.MAX_VALUE;
+        for (LoopStats loop : loops) {
+            double score = loop.score();
+            if (score < bestScore) {
+                best = loop;
+                bestScore = score;
+            }
+        }
+
+        //noinspection ConstantConditions - there is always at least one loop
+        best.sessions.incrementAndGet();
+        best.placements.incrementAndGet();
+        if (geyser.getConfig().isDebugMode()) {
+            geyser.getLogger().debug("Placing session on " + best + " (score " + String.format("%.2f", bestScore) + ")");
+        }
+        return best.eventLoop;
+    }
+
+    /**
+     * Must be called once a session placed with {@link #next()} has disconnected.
+     */
+    public void release(EventLoop eventLoop) {
+        for (LoopStats loop : loops) {
+            if (loop.eventLoop == eventLoop) {
+                loop.sessions.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the load of every event loop, for metrics and dumps
+     */
+    public List<LoopStats> getLoops() {
+        return loops;
+    }
+
+    private void sample() {
+        for (LoopStats loop : loops) {
+            long busyNanos = geyser.getSessionTickScheduler().getBusyNanos(loop.eventLoop);
+            double utilization = (busyNanos - loop.lastBusyNanos) / (double) TimeUnit.MILLISECONDS.toNanos(SAMPLE_INTERVAL_MILLIS);
+            loop.lastBusyNanos = busyNanos;
+            loop.utilization = loop.utilization * (1 - SMOOTHING) + Math.min(1, Math.max(0, utilization)) * SMOOTHING;
+
+            // How long a task waits before the loop gets to it
+            long submitted = System.nanoTime();
+            loop.eventLoop.execute(() -> {
+                long latency = System.nanoTime() - submitted;
+                loop.queueLatencyNanos = (long) (loop.queueLatencyNanos * (1 - SMOOTHING) + latency * SMOOTHING);
+            });
+        }
+    }
+
+    public static final class LoopStats {
+        private final EventLoop eventLoop;
+        private final AtomicInteger sessions = new AtomicInteger();
+        private final AtomicLong placements = new AtomicLong();
+
+        private long lastBusyNanos;
+        /**
+         * The fraction of time, between 0 and 1, that this loop recently spent ticking sessions. Time spent translating
+         * packets is not included.
+         */
+        @Getter
+        private volatile double utilization;
+        @Getter
+        private volatile long queueLatencyNanos;
+
+        private LoopStats(EventLoop eventLoop) {
+            this.eventLoop = eventLoop;
+        }
+
+        public int getSessions() {
+            return sessions.get();
+        }
+
+        /**
+         * @return how many sessions have been placed on this loop in total
+         */
+        public long getPlacements() {
+            return placements.get();
+        }
+
+        public int getPendingTasks() {
+            return eventLoop instanceof SingleThreadEventLoop singleThread ? singleThread.pendingTasks() : 0;
+        }
+
+        /**
+         * Lower is better. A fully utilized loop weighs as much as ten sessions; each queued task or millisecond
+         * of queue latency weighs as much as one.
+         */
+        private double score() {
+            return utilization * 10 + getSessions() + getPendingTasks() + queueLatencyNanos / 1_000_000d;
+        }
+
+        @Override
+        public String toString() {
+            return "LoopStats{sessions=" + getSessions() + ", utilization=" + String.format("%.2f", utilization)
+                    + ", pendingTasks=" + getPendingTasks() + ", queueLatencyMillis=" + queueLatencyNanos / 1_000_000d + "}";
+        }
+    }
+}
@@ -31,7 +31,6 @@ import org.cloudburstmc.protocol.bedrock.codec.BedrockCodec;
 import org.cloudburstmc.protocol.bedrock.codec.v567.Bedrock_v567;
 import org.cloudburstmc.protocol.bedrock.codec.v568.Bedrock_v568;
 import org.cloudburstmc.protocol.bedrock.data.ExperimentData;
-import org.cloudburstmc.protocol.bedrock.data.PacketCompressionAlgorithm;
 import org.cloudburstmc.protocol.bedrock.data.ResourcePackType;
 import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
 import org.cloudburstmc.protocol.bedrock.packet.LoginPacket;
@@ -134,15 +133,19 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         }
 
         // New since 1.19.30 - sent before login packet
-        PacketCompressionAlgorithm algorithm = PacketCompressionAlgorithm.ZLIB;
+        CompressionPolicy.Settings compression = CompressionPolicy.choose(this.geyser, session.getSocketAddress());
+        session.getUpstream().setCompression(compression);
 
         NetworkSettingsPacket responsePacket = new NetworkSettingsPacket();
-        responsePacket.setCompressionAlgorithm(algorithm);
-        responsePacket.setCompressionThreshold(512);
+        responsePacket.setCompressionAlgorithm(compression.algorithm());
+        responsePacket.setCompressionThreshold(CompressionPolicy.COMPRESSION_THRESHOLD);
         session.sendUpstreamPacketImmediately(responsePacket);
 
-        session.getUpstream().getSession().setCompression(algorithm);
-        session.getUpstream().getSession().setCompressionLevel(this.geyser.getConfig().getBedrock().getCompressionLevel());
+        session.getUpstream().getSession().setCompression(compression.algorithm());
+        session.getUpstream().getSession().setCompressionLevel(compression.level());
+        if (this.geyser.getConfig().isDebugMode()) {
+            this.geyser.getLogger().debug("Using " + compression.algorithm() + " compression at level " + compression.level() + " for a new connection");
+        }
         return PacketSignal.HANDLED;
     }
 
@@ -85,6 +85,8 @@ public final class GeyserServer {
     private final GeyserImpl geyser;
     private final EventLoopGroup group;
     private final ServerBootstrap bootstrap;
+    @Getter
+    private final GeyserServerInitializer serverInitializer;
 
     @Getter
     private final ExpiringMap<InetSocketAddress, InetSocketAddress> proxiedAddresses;
@@ -95,6 +97,7 @@ public final class GeyserServer {
         this.geyser = geyser;
         this.group = TRANSPORT.eventLoopGroupFactory().apply(threadCount);
 
+        this.serverInitializer = new GeyserServerInitializer(this.geyser);
         this.bootstrap = this.createBootstrap(this.group);
 
         if (this.geyser.getConfig().getBedrock().isEnableProxyProtocol()) {
@@ -152,7 +155,7 @@ public final class GeyserServer {
                 .channelFactory(RakChannelFactory.server(TRANSPORT.datagramChannel()))
                 .group(group)
                 .option(RakChannelOption.RAK_HANDLE_PING, true)
-                .childHandler(new GeyserServerInitializer(this.geyser));
+                .childHandler(this.serverInitializer);
     }
 
     public boolean onConnectionRequest(InetSocketAddress inetSocketAddress) {
@@ -33,6 +33,7 @@ import org.geysermc.geyser.registry.loader.RegistryLoaders;
 import org.geysermc.geyser.registry.populator.BlockRegistryPopulator;
 import org.geysermc.geyser.registry.type.BlockMapping;
 import org.geysermc.geyser.registry.type.BlockMappings;
+import org.geysermc.geyser.util.StartupTimings;
 
 import java.util.BitSet;
 
@@ -84,7 +85,7 @@ public class BlockRegistries {
     public static final SimpleRegistry<BitSet> INTERACTIVE_MAY_BUILD = SimpleRegistry.create(RegistryLoaders.uninitialized());
 
     static {
-        BlockRegistryPopulator.populate();
+        StartupTimings.time("BlockRegistryPopulator", BlockRegistryPopulator::populate);
     }
 
     public static void init() {
@@ -30,13 +30,19 @@ import com.github.steveice10.mc.protocol.packet.ingame.clientbound.level.Clientb
 import io.netty.channel.EventLoop;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.registry.loader.RegistryLoaders;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.PacketRecorder;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Set;
+import java.util.function.ToIntFunction;
 
 public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<? extends T>, PacketTranslator<? extends T>, IdentityHashMap<Class<? extends T>, PacketTranslator<? extends T>>> {
     private static final Set<Class<?>> IGNORED_PACKETS = Collections.newSetFromMap(new IdentityHashMap<>());
@@ -46,29 +52,73 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
         IGNORED_PACKETS.add(ClientboundTabListPacket.class); // Cant be implemented in Bedrock
     }
 
-    protected PacketTranslatorRegistry() {
+    /**
+     * Placed in the dispatch table for packets that have no translator, so they are only looked up once.
+     */
+    private static final TranslatorEntry<?> NO_TRANSLATOR = new TranslatorEntry<>(null, false);
+
+    /**
+     * Returns a dense ID for a packet, or null if packets are dispatched by class only.
+     */
+    private final @Nullable ToIntFunction<T> packetIdFunction;
+    /**
+     * Resolved translators indexed by packet ID, filled in the first time a packet with that ID is translated.
+     * Entries are immutable, so racing writes from different event loops are harmless.
+     */
+    private final TranslatorEntry<?>[] dispatchTable;
+    /**
+     * Resolved translators for registries without packet IDs.
+     */
+    private final ClassValue<TranslatorEntry<?>> dispatchByClass = new ClassValue<>() {
+        @Override
+        protected TranslatorEntry<?> computeValue(@Nonnull Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    protected PacketTranslatorRegistry(@Nullable ToIntFunction<T> packetIdFunction, int packetIdCount) {
         super(null, RegistryLoaders.empty(IdentityHashMap::new));
+        this.packetIdFunction = packetIdFunction;
+        this.dispatchTable = new TranslatorEntry<?>[packetIdCount];
+    }
+
+    @Override
+    public PacketTranslator<? extends T> register(Class<? extends T> key, PacketTranslator<? extends T> value) {
+        PacketTranslator<? extends T> previous = super.register(key, value);
+        // Forget anything that was resolved before this translator was known
+        Arrays.fill(this.dispatchTable, null);
+        this.dispatchByClass.remove(key);
+        return previous;
     }
 
-    @SuppressWarnings("unchecked")
     public <P extends T> boolean translate(Class<? extends P> clazz, P packet, GeyserSession session) {
         if (session.getUpstream().isClosed() || session.isClosed()) {
             return false;
         }
 
-        PacketTranslator<P> translator = (PacketTranslator<P>) this.mappings.get(clazz);
+        TranslatorEntry<P> entry = entry(clazz, packet);
+        PacketTranslator<P> translator = entry.translator();
         if (translator != null) {
-            EventLoop eventLoop = session.getEventLoop();
-            if (!translator.shouldExecuteInEventLoop() || eventLoop.inEventLoop()) {
+            if (!entry.executeInEventLoop()) {
                 translate0(session, translator, packet);
             } else {
-                eventLoop.execute(() -> translate0(session, translator, packet));
+                EventLoop eventLoop = session.getEventLoop();
+                if (eventLoop.inEventLoop()) {
+                    translate0(session, translator, packet);
+                } else {
+                    eventLoop.execute(() -> translate0(session, translator, packet));
+                }
             }
             return true;
         } else {
+            PacketRecorder recorder = session.getPacketRecorder();
+            if (recorder != null) {
+                recorder.record(direction(packet), clazz, -1);
+            }
+
             if (GeyserImpl.getInstance().getConfig().isDebugMode()) {
                 if (!IGNORED_PACKETS.contains(clazz)) {
-                    GeyserImpl.getInstance().getLogger().debug("Could not find packet for " + (packet.toString().length() > 25 ? packet.getClass().getSimpleName() : packet));
+                    GeyserImpl.getInstance().getLogger().debug("Could not find packet for " + clazz.getSimpleName());
                 }
             }
 
@@ -76,20 +126,79 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
         }
     }
 
+    /**
+     * Returns the translator that {@link #translate(Class, Object, GeyserSession)} would dispatch the packet to.
+     */
+    @Nullable
+    <P extends T> PacketTranslator<P> translatorFor(Class<? extends P> clazz, P packet) {
+        return this.<P>entry(clazz, packet).translator();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <P extends T> TranslatorEntry<P> entry(Class<? extends P> clazz, P packet) {
+        if (this.packetIdFunction != null) {
+            int id = this.packetIdFunction.applyAsInt(packet);
+            TranslatorEntry<P> entry = (TranslatorEntry<P>) this.dispatchTable[id];
+            if (entry == null) {
+                entry = (TranslatorEntry<P>) resolve(clazz);
+                this.dispatchTable[id] = entry;
+            }
+            return entry;
+        }
+        return (TranslatorEntry<P>) this.dispatchByClass.get(clazz);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private TranslatorEntry<?> resolve(Class<?> clazz) {
+        PacketTranslator<? extends T> translator = this.mappings.get(clazz);
+        if (translator == null) {
+            return NO_TRANSLATOR;
+        }
+        return new TranslatorEntry(translator, translator.shouldExecuteInEventLoop());
+    }
+
     private <P extends T> void translate0(GeyserSession session, PacketTranslator<P> translator, P packet) {
         if (session.isClosed()) {
             return;
         }
 
+        PacketRecorder recorder = session.getPacketRecorder();
+        long start = recorder != null ? System.nanoTime() : 0;
         try {
             translator.translate(session, packet);
         } catch (Throwable ex) {
             GeyserImpl.getInstance().getLogger().error(GeyserLocale.getLocaleStringLog("geyser.network.translator.packet.failed", packet.getClass().getSimpleName()), ex);
             ex.printStackTrace();
         }
+        if (recorder != null) {
+            recorder.record(direction(packet), packet.getClass(), System.nanoTime() - start);
+        }
     }
 
+    private static PacketRecorder.Direction direction(Object packet) {
+        return packet instanceof BedrockPacket ? PacketRecorder.Direction.BEDROCK_INBOUND : PacketRecorder.Direction.JAVA_INBOUND;
+    }
+
+    /**
+     * Creates a registry that looks up translators by packet class.
+     */
     public static <T> PacketTranslatorRegistry<T> create() {
-        return new PacketTranslatorRegistry<>();
+        return new PacketTranslatorRegistry<>(null, 0);
+    }
+
+    /**
+     * Creates a registry that dispatches through a table indexed by packet ID.
+     *
+     * @param packetIdFunction returns an ID that is the same for every packet of the same class, from 0 (inclusive)
+     *                         to {@code packetIdCount} (exclusive)
+     */
+    public static <T> PacketTranslatorRegistry<T> create(ToIntFunction<T> packetIdFunction, int packetIdCount) {
+        return new PacketTranslatorRegistry<>(packetIdFunction, packetIdCount);
+    }
+
+    /**
+     * A translator, with everything needed to dispatch to it resolved ahead of time.
+     */
+    private record TranslatorEntry<P>(@Nullable PacketTranslator<P> translator, boolean executeInEventLoop) {
     }
 }
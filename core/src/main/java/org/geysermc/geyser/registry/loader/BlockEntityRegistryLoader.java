@@ -28,35 +28,23 @@ package org.geysermc.geyser.registry.loader;
 import com.github.steveice10.mc.protocol.data.game.level.block.BlockEntityType;
 import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import org.geysermc.geyser.translator.level.block.entity.BlockEntity;
+import org.geysermc.geyser.translator.level.block.entity.BlockEntityRegistrations;
 import org.geysermc.geyser.translator.level.block.entity.BlockEntityTranslator;
 import org.geysermc.geyser.translator.level.block.entity.EmptyBlockEntityTranslator;
-import org.geysermc.geyser.util.FileUtils;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.Map;
 
 /**
- * Loads block entities from the given classpath.
+ * Loads the block entity translators registered at compile time.
  */
-public class BlockEntityRegistryLoader implements RegistryLoader<String, Map<BlockEntityType, BlockEntityTranslator>> {
+public class BlockEntityRegistryLoader implements RegistryLoader<Object, Map<BlockEntityType, BlockEntityTranslator>> {
 
     @Override
-    public Map<BlockEntityType, BlockEntityTranslator> load(String input) {
+    public Map<BlockEntityType, BlockEntityTranslator> load(Object input) {
         // Overridden so one translator can be applied to multiple block entity types
         Object2ObjectMap<BlockEntityType, BlockEntityTranslator> entries = new Object2ObjectOpenHashMap<>();
         entries.defaultReturnValue(new EmptyBlockEntityTranslator());
-        for (Class<?> clazz : FileUtils.getGeneratedClassesForAnnotation(input)) {
-            try {
-                BlockEntity annotation = clazz.getAnnotation(BlockEntity.class);
-                BlockEntityTranslator translator = (BlockEntityTranslator) clazz.getConstructor().newInstance();
-                for (BlockEntityType type : annotation.type()) {
-                    entries.put(type, translator);
-                }
-            } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException ex) {
-                ex.printStackTrace();
-            }
-        }
+        BlockEntityRegistrations.register(entries);
         return entries;
     }
-}
\ No newline at end of file
+}
@@ -26,7 +26,6 @@
 package org.geysermc.geyser.registry.loader;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import it.unimi.dsi.fastutil.Pair;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
@@ -37,36 +36,31 @@ import org.geysermc.geyser.level.physics.BoundingBox;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.registry.type.BlockMapping;
 import org.geysermc.geyser.translator.collision.BlockCollision;
-import org.geysermc.geyser.translator.collision.CollisionRemapper;
+import org.geysermc.geyser.translator.collision.CollisionRemapperRegistrations;
 import org.geysermc.geyser.translator.collision.OtherCollision;
 import org.geysermc.geyser.translator.collision.SolidCollision;
-import org.geysermc.geyser.util.FileUtils;
 
 import java.io.InputStream;
-import java.lang.reflect.InvocationTargetException;
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.regex.Pattern;
 
 /**
  * Loads collision data from the given resource path.
  */
-public class CollisionRegistryLoader extends MultiResourceRegistryLoader<String, Int2ObjectMap<BlockCollision>> {
+public class CollisionRegistryLoader implements RegistryLoader<String, Int2ObjectMap<BlockCollision>> {
 
     @Override
-    public Int2ObjectMap<BlockCollision> load(Pair<String, String> input) {
+    public Int2ObjectMap<BlockCollision> load(String input) {
         Int2ObjectMap<BlockCollision> collisions = new Int2ObjectOpenHashMap<>();
 
-        Map<Class<?>, CollisionInfo> annotationMap = new IdentityHashMap<>();
-        for (Class<?> clazz : FileUtils.getGeneratedClassesForAnnotation(CollisionRemapper.class.getName())) {
-            GeyserImpl.getInstance().getLogger().debug("Found annotated collision translator: " + clazz.getCanonicalName());
-
-            CollisionRemapper collisionRemapper = clazz.getAnnotation(CollisionRemapper.class);
-            annotationMap.put(clazz, new CollisionInfo(collisionRemapper, Pattern.compile(collisionRemapper.regex()), Pattern.compile(collisionRemapper.paramRegex())));
-        }
+        // Generated at compile time from every class annotated with @CollisionRemapper
+        List<CollisionInfo> collisionInfos = new ObjectArrayList<>();
+        CollisionRemapperRegistrations.register(collisionInfos);
 
         // Load collision mappings file
         List<BoundingBox[]> collisionList;
-        try (InputStream stream = GeyserImpl.getInstance().getBootstrap().getResource(input.value())) {
+        try (InputStream stream = GeyserImpl.getInstance().getBootstrap().getResource(input)) {
             ArrayNode collisionNode = (ArrayNode) GeyserImpl.JSON_MAPPER.readTree(stream);
             collisionList = loadBoundingBoxes(collisionNode);
         } catch (Exception e) {
@@ -79,7 +73,7 @@ public class CollisionRegistryLoader extends MultiResourceRegistryLoader<String,
         Map<BlockCollision, BlockCollision> collisionInstances = new Object2ObjectOpenHashMap<>();
         for (int i = 0; i < blockMappings.length; i++) {
             BlockMapping blockMapping = blockMappings[i];
-            BlockCollision newCollision = instantiateCollision(blockMapping, annotationMap, collisionList);
+            BlockCollision newCollision = instantiateCollision(blockMapping, collisionInfos, collisionList);
 
             if (newCollision != null) {
                 // If there's an existing instance equal to this one, use that instead
@@ -96,7 +90,7 @@ public class CollisionRegistryLoader extends MultiResourceRegistryLoader<String,
         return collisions;
     }
 
-    private BlockCollision instantiateCollision(BlockMapping mapping, Map<Class<?>, CollisionInfo> annotationMap, List<BoundingBox[]> collisionList) {
+    private BlockCollision instantiateCollision(BlockMapping mapping, List<CollisionInfo> collisionInfos, List<BoundingBox[]> collisionList) {
         String[] blockIdParts = mapping.getJavaIdentifier().split("\\[");
         String blockName = blockIdParts[0].replace("minecraft:", "");
         String params = "";
@@ -105,23 +99,9 @@ public class CollisionRegistryLoader extends MultiResourceRegistryLoader<String,
         }
         int collisionIndex = mapping.getCollisionIndex();
 
-        for (Map.Entry<Class<?>, CollisionInfo> collisionRemappers : annotationMap.entrySet()) {
-            Class<?> type = collisionRemappers.getKey();
-            CollisionInfo collisionInfo = collisionRemappers.getValue();
-            CollisionRemapper annotation = collisionInfo.collisionRemapper;
-
+        for (CollisionInfo collisionInfo : collisionInfos) {
             if (collisionInfo.pattern.matcher(blockName).find() && collisionInfo.paramsPattern.matcher(params).find()) {
-                try {
-                    if (annotation.passDefaultBoxes()) {
-                        // Create an OtherCollision instance and get the bounding boxes
-                        BoundingBox[] defaultBoxes = collisionList.get(collisionIndex);
-                        return (BlockCollision) type.getDeclaredConstructor(String.class, BoundingBox[].class).newInstance(params, defaultBoxes);
-                    } else {
-                        return (BlockCollision) type.getDeclaredConstructor(String.class).newInstance(params);
-                    }
-                } catch (IllegalAccessException | InstantiationException | NoSuchMethodException | InvocationTargetException e) {
-                    throw new RuntimeException(e);
-                }
+                return collisionInfo.factory.apply(params, collisionList.get(collisionIndex));
             }
         }
 
@@ -165,8 +145,11 @@ public class CollisionRegistryLoader extends MultiResourceRegistryLoader<String,
      */
     @AllArgsConstructor
     public static class CollisionInfo {
-        private final CollisionRemapper collisionRemapper;
         private final Pattern pattern;
         private final Pattern paramsPattern;
+        /**
+         * Creates the collision from the block state parameters and the default bounding boxes of the block
+         */
+        private final BiFunction<String, BoundingBox[], BlockCollision> factory;
     }
 }
\ No newline at end of file
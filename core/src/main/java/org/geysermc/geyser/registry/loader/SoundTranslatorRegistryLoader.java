@@ -25,16 +25,22 @@
 
 package org.geysermc.geyser.registry.loader;
 
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.geysermc.geyser.translator.sound.SoundInteractionTranslator;
 import org.geysermc.geyser.translator.sound.SoundTranslator;
+import org.geysermc.geyser.translator.sound.SoundTranslatorRegistrations;
 
-import java.util.function.Function;
+import java.util.Map;
 
 /**
- * Loads sound handlers from the given classpath.
+ * Loads the sound handlers registered at compile time.
  */
-public class SoundTranslatorRegistryLoader extends AnnotatedRegistryLoader<SoundTranslator, SoundTranslator, SoundInteractionTranslator<?>> {
-    public SoundTranslatorRegistryLoader() {
-        super(SoundTranslator.class, Function.identity());
+public class SoundTranslatorRegistryLoader implements RegistryLoader<Object, Map<SoundTranslator, SoundInteractionTranslator<?>>> {
+
+    @Override
+    public Map<SoundTranslator, SoundInteractionTranslator<?>> load(Object input) {
+        Map<SoundTranslator, SoundInteractionTranslator<?>> entries = new Object2ObjectOpenHashMap<>();
+        SoundTranslatorRegistrations.register(entries);
+        return entries;
     }
-}
\ No newline at end of file
+}
@@ -39,6 +39,7 @@ import org.cloudburstmc.protocol.bedrock.codec.v575.Bedrock_v575;
 import org.cloudburstmc.protocol.bedrock.codec.v582.Bedrock_v582;
 import org.cloudburstmc.protocol.bedrock.data.defintions.BlockDefinition;
 import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.level.block.BlockStateFlags;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.level.physics.PistonBehavior;
 import org.geysermc.geyser.registry.BlockRegistries;
@@ -65,6 +66,7 @@ public final class BlockRegistryPopulator {
     public static void populate() {
         registerJavaBlocks();
         registerBedrockBlocks();
+        BlockStateFlags.populate(BLOCKS_JSON.size());
 
         BLOCKS_JSON = null;
     }
@@ -229,9 +231,15 @@ public final class BlockRegistryPopulator {
                 }
             });
 
+            int[] javaToBedrockRuntimeIds = new int[javaToBedrockBlocks.length];
+            for (int i = 0; i < javaToBedrockBlocks.length; i++) {
+                javaToBedrockRuntimeIds[i] = javaToBedrockBlocks[i].getRuntimeId();
+            }
+
             BlockRegistries.BLOCKS.register(palette.getKey().valueInt(), builder.blockStateVersion(stateVersion)
                     .bedrockRuntimeMap(bedrockRuntimeMap)
                     .javaToBedrockBlocks(javaToBedrockBlocks)
+                    .javaToBedrockRuntimeIds(javaToBedrockRuntimeIds)
                     .itemFrames(itemFrames)
                     .flowerPotBlocks(flowerPotBlocks)
                     .jigsawStates(jigsawDefinitions)
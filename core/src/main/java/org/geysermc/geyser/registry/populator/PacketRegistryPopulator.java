@@ -25,40 +25,13 @@
 
 package org.geysermc.geyser.registry.populator;
 
-import com.github.steveice10.packetlib.packet.Packet;
-import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
-import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.registry.Registries;
-import org.geysermc.geyser.translator.protocol.PacketTranslator;
-import org.geysermc.geyser.translator.protocol.Translator;
-import org.geysermc.geyser.util.FileUtils;
+import org.geysermc.geyser.translator.protocol.TranslatorRegistrations;
 
 public class PacketRegistryPopulator {
 
-    @SuppressWarnings("unchecked")
     public static void populate() {
-        for (Class<?> clazz : FileUtils.getGeneratedClassesForAnnotation(Translator.class)) {
-            Class<?> packet = clazz.getAnnotation(Translator.class).packet();
-
-            GeyserImpl.getInstance().getLogger().debug("Found annotated translator: " + clazz.getCanonicalName() + " : " + packet.getSimpleName());
-
-            try {
-                if (Packet.class.isAssignableFrom(packet)) {
-                    Class<? extends Packet> targetPacket = (Class<? extends Packet>) packet;
-                    PacketTranslator<? extends Packet> translator = (PacketTranslator<? extends Packet>) clazz.getConstructor().newInstance();
-
-                    Registries.JAVA_PACKET_TRANSLATORS.register(targetPacket, translator);
-                } else if (BedrockPacket.class.isAssignableFrom(packet)) {
-                    Class<? extends BedrockPacket> targetPacket = (Class<? extends BedrockPacket>) packet;
-                    PacketTranslator<? extends BedrockPacket> translator = (PacketTranslator<? extends BedrockPacket>) clazz.getConstructor().newInstance();
-
-                    Registries.BEDROCK_PACKET_TRANSLATORS.register(targetPacket, translator);
-                } else {
-                    GeyserImpl.getInstance().getLogger().error("Class " + clazz.getCanonicalName() + " is annotated as a translator but has an invalid target packet.");
-                }
-            } catch (Exception e) {
-                GeyserImpl.getInstance().getLogger().error("Could not instantiate annotated translator " + clazz.getCanonicalName());
-            }
-        }
+        // Generated at compile time from every class annotated with @Translator
+        TranslatorRegistrations.register(Registries.JAVA_PACKET_TRANSLATORS, Registries.BEDROCK_PACKET_TRANSLATORS);
     }
 }
@@ -44,6 +44,10 @@ public class BlockMappings implements DefinitionRegistry<GeyserBedrockBlock> {
     int blockStateVersion;
 
     GeyserBedrockBlock[] javaToBedrockBlocks;
+    /**
+     * The runtime ID of each entry of {@link #javaToBedrockBlocks}, for translating chunks without dereferencing every block.
+     */
+    int[] javaToBedrockRuntimeIds;
 
     GeyserBedrockBlock[] bedrockRuntimeMap;
 
@@ -55,7 +59,10 @@ public class BlockMappings implements DefinitionRegistry<GeyserBedrockBlock> {
     Set<BlockDefinition> jigsawStates;
 
     public int getBedrockBlockId(int javaState) {
-        return getBedrockBlock(javaState).getRuntimeId();
+        if (javaState < 0 || javaState >= this.javaToBedrockRuntimeIds.length) {
+            return bedrockAir.getRuntimeId();
+        }
+        return this.javaToBedrockRuntimeIds[javaState];
     }
 
     public GeyserBedrockBlock getBedrockBlock(int javaState) {
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrays;
+import lombok.Getter;
+import org.cloudburstmc.math.vector.Vector2i;
+import org.cloudburstmc.protocol.bedrock.packet.LevelChunkPacket;
+import org.geysermc.geyser.util.MathUtils;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds translated chunks back and releases them to the Bedrock client nearest-first, a limited amount per tick.
+ * <p>
+ * A teleport or a join can otherwise push hundreds of chunks into the RakNet queue at once, and the client loads
+ * them in whatever order the Java server sent them. The per-tick limit is lowered whenever the connection stops
+ * being writable and raised back up while it keeps up.
+ */
+public final class ChunkSendScheduler {
+    private final GeyserSession session;
+    /**
+     * The most chunks sent in one tick, or -1 if chunks are sent as soon as they are translated.
+     */
+    private final int maxChunksPerTick;
+
+    private final Long2ObjectLinkedOpenHashMap<QueuedChunk> queue = new Long2ObjectLinkedOpenHashMap<>();
+    private long[] sortBuffer = new long[64];
+
+    /**
+     * How many chunks may be sent this tick. Halved when the connection is congested.
+     */
+    @Getter
+    private int currentRate;
+
+    public ChunkSendScheduler(GeyserSession session) {
+        this.session = session;
+        this.maxChunksPerTick = session.getGeyser().getConfig().getMaxChunksPerTick();
+        this.currentRate = Math.max(1, maxChunksPerTick);
+    }
+
+    /**
+     * Queues a chunk to be sent, replacing any older version of that chunk that has not been sent yet.
+     *
+     * @param afterSend ran right after the chunk has been sent, for anything that must arrive after the chunk itself
+     */
+    public void send(int chunkX, int chunkZ, LevelChunkPacket packet, @Nullable Runnable afterSend) {
+        if (maxChunksPerTick < 0) {
+            sendNow(new QueuedChunk(packet, afterSend));
+            return;
+        }
+        queue.put(MathUtils.chunkPositionToLong(chunkX, chunkZ), new QueuedChunk(packet, afterSend));
+    }
+
+    /**
+     * Sends this chunk right away if it is still queued. Must be called before sending anything that modifies
+     * the chunk client-side, such as block updates, so the update isn't overwritten by the older chunk data.
+     */
+    public void flush(int chunkX, int chunkZ) {
+        if (queue.isEmpty()) {
+            return;
+        }
+        QueuedChunk chunk = queue.remove(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+        if (chunk != null) {
+            sendNow(chunk);
+        }
+    }
+
+    /**
+     * Drops a queued chunk, if it was unloaded before it could be sent.
+     */
+    public void remove(int chunkX, int chunkZ) {
+        if (!queue.isEmpty()) {
+            queue.remove(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+        }
+    }
+
+    public void clear() {
+        queue.clear();
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Sends the next batch of chunks, nearest to the player first.
+     */
+    public void tick() {
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        if (!session.getUpstream().isWritable()) {
+            // RakNet is backed up; let it drain before adding more
+            currentRate = Math.max(1, currentRate >> 1);
+            return;
+        }
+
+        Vector2i center = session.getLastChunkPosition();
+        if (center == null) {
+            // The player's position isn't known yet; send in the order the Java server sent them
+            for (int i = 0; i < currentRate && !queue.isEmpty(); i++) {
+                sendNow(queue.removeFirst());
+            }
+            return;
+        }
+        int centerX = center.getX();
+        int centerZ = center.getZ();
+        // The Bedrock client ignores chunks outside its own render distance; hold those until the player comes closer
+        int radius = session.getClientRenderDistance();
+
+        int candidates = 0;
+        if (sortBuffer.length < queue.size()) {
+            sortBuffer = new long[Math.max(queue.size(), sortBuffer.length * 2)];
+        }
+        for (long key : queue.keySet()) {
+            if (radius < 0 || distanceSquared(key, centerX, centerZ) <= (radius + 1) * (radius + 1)) {
+                sortBuffer[candidates++] = key;
+            }
+        }
+
+        int toSend = Math.min(candidates, currentRate);
+        LongArrays.quickSort(sortBuffer, 0, candidates,
+                (a, b) -> Integer.compare(distanceSquared(a, centerX, centerZ), distanceSquared(b, centerX, centerZ)));
+        for (int i = 0; i < toSend; i++) {
+            sendNow(queue.remove(sortBuffer[i]));
+        }
+
+        if (currentRate < maxChunksPerTick) {
+            currentRate++;
+        }
+    }
+
+    private void sendNow(QueuedChunk chunk) {
+        session.sendUpstreamPacket(chunk.packet());
+        if (chunk.afterSend() != null) {
+            chunk.afterSend().run();
+        }
+    }
+
+    /**
+     * @return the squared distance between the packed chunk position and the center, in chunks
+     */
+    private static int distanceSquared(long key, int centerX, int centerZ) {
+        int x = (int) (key >> 32) - centerX;
+        int z = (int) key - centerZ;
+        return x * x + z * z;
+    }
+
+    private record QueuedChunk(LevelChunkPacket packet, @Nullable Runnable afterSend) {
+    }
+}
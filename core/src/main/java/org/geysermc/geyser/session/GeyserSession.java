@@ -65,8 +65,6 @@ import io.netty.channel.Channel;
 import io.netty.channel.EventLoop;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
-import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
@@ -112,7 +110,6 @@ import org.geysermc.geyser.entity.EntityDefinitions;
 import org.geysermc.geyser.entity.attribute.GeyserAttributeType;
 import org.geysermc.geyser.entity.type.Entity;
 import org.geysermc.geyser.entity.type.ItemFrameEntity;
-import org.geysermc.geyser.entity.type.Tickable;
 import org.geysermc.geyser.entity.type.player.SessionPlayerEntity;
 import org.geysermc.geyser.erosion.AbstractGeyserboundPacketHandler;
 import org.geysermc.geyser.erosion.GeyserboundHandshakePacketHandler;
@@ -132,6 +129,7 @@ import org.geysermc.geyser.session.auth.AuthData;
 import org.geysermc.geyser.session.auth.BedrockClientData;
 import org.geysermc.geyser.session.cache.*;
 import org.geysermc.geyser.skin.FloodgateSkinUploader;
+import org.geysermc.geyser.skin.SkinSendQueue;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.text.MinecraftLocale;
 import org.geysermc.geyser.text.TextDecoration;
@@ -189,7 +187,10 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
 
     private final AdvancementsCache advancementsCache;
     private final BookEditCache bookEditCache;
+    private final BreakSpeedCache breakSpeedCache;
     private final ChunkCache chunkCache;
+    private final ChunkSendScheduler chunkSendScheduler;
+    private final SkinSendQueue skinSendQueue;
     private final EntityCache entityCache;
     private final EntityEffectCache effectCache;
     private final FormCache formCache;
@@ -244,7 +245,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     @Setter
     private ItemMappings itemMappings;
 
-    private final Long2ObjectMap<ClientboundMapItemDataPacket> storedMaps = new Long2ObjectOpenHashMap<>();
+    private final MapCache mapCache = new MapCache();
 
     /**
      * Required to decode biomes correctly.
@@ -538,9 +539,14 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private boolean advancedTooltips = false;
 
     /**
-     * The thread that will run every 50 milliseconds - one Minecraft tick.
+     * Timings of this session's ticks. Ticking itself is driven by the {@link SessionTickScheduler}.
      */
-    private ScheduledFuture<?> tickThread = null;
+    private final SessionTickStats tickStats = new SessionTickStats(this);
+
+    /**
+     * Records the packets of this session while enabled through the packetrecorder command.
+     */
+    private volatile PacketRecorder packetRecorder;
 
     /**
      * Used to return the player to their original rotation after using an item in BedrockInventoryTransactionTranslator
@@ -565,7 +571,10 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
 
         this.advancementsCache = new AdvancementsCache(this);
         this.bookEditCache = new BookEditCache(this);
+        this.breakSpeedCache = new BreakSpeedCache(this);
         this.chunkCache = new ChunkCache(this);
+        this.chunkSendScheduler = new ChunkSendScheduler(this);
+        this.skinSendQueue = new SkinSendQueue(this);
         this.entityCache = new EntityCache(this);
         this.effectCache = new EntityEffectCache();
         this.formCache = new FormCache(this);
@@ -881,7 +890,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         boolean floodgate = this.remoteServer.authType() == AuthType.FLOODGATE;
 
         // Start ticking
-        tickThread = eventLoop.scheduleAtFixedRate(this::tick, 50, 50, TimeUnit.MILLISECONDS);
+        geyser.getSessionTickScheduler().register(this);
 
         TcpSession downstream;
         if (geyser.getBootstrap().getSocketAddress() != null) {
@@ -991,12 +1000,12 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
 
                 // Let the user know there locale may take some time to download
                 // as it has to be extracted from a JAR
-                if (locale.equalsIgnoreCase("en_us") && !MinecraftLocale.LOCALE_MAPPINGS.containsKey("en_us")) {
+                if (locale.equalsIgnoreCase("en_us") && !MinecraftLocale.isLocaleLoaded("en_us")) {
                     // This should probably be left hardcoded as it will only show for en_us clients
                     sendMessage("Loading your locale (en_us); if this isn't already downloaded, this may take some time");
                 }
 
-                // Download and load the language for the player
+                // Download and load the language for the player in the background
                 MinecraftLocale.downloadAndLoadLocale(locale);
             }
 
@@ -1088,13 +1097,18 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
             }
         }
 
-        if (tickThread != null) {
-            tickThread.cancel(false);
-        }
+        geyser.getSessionTickScheduler().unregister(this);
 
         erosionHandler.close();
 
+        mapCache.clear();
+
         closed = true;
+
+        // Releases any chunks shared with other sessions
+        ensureInEventLoop(chunkCache::clear);
+        // Drops skins that were downloaded but not yet sent, and the player entities they hold on to
+        ensureInEventLoop(skinSendQueue::clear);
     }
 
     /**
@@ -1135,11 +1149,22 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     }
 
     /**
-     * Called every 50 milliseconds - one Minecraft tick.
+     * Called every 50 milliseconds - one Minecraft tick - by the {@link SessionTickScheduler}.
      */
     protected void tick() {
         try {
+            long phaseStart = tickStats.startTick();
+            chunkSendScheduler.tick();
+            phaseStart = tickStats.endPhase(TickPhase.CHUNKS, phaseStart);
+
+            if (tickStats.shouldRun(TickPhase.SKINS)) {
+                skinSendQueue.tick();
+                phaseStart = tickStats.endPhase(TickPhase.SKINS, phaseStart);
+            }
+
             pistonCache.tick();
+            phaseStart = tickStats.endPhase(TickPhase.PISTONS, phaseStart);
+
             // Check to see if the player's position needs updating - a position update should be sent once every 3 seconds
             if (spawned && (System.currentTimeMillis() - lastMovementTimestamp) > 3000) {
                 // Recalculate in case something else changed position
@@ -1152,6 +1177,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
                 }
                 lastMovementTimestamp = System.currentTimeMillis();
             }
+            phaseStart = tickStats.endPhase(TickPhase.MOVEMENT, phaseStart);
 
             if (worldBorder.isResizing()) {
                 worldBorder.resize();
@@ -1160,7 +1186,12 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
             boolean shouldShowFog = !worldBorder.isWithinWarningBoundaries();
             if (shouldShowFog || worldBorder.isCloseToBorderBoundaries()) {
                 // Show particles representing where the world border is
-                worldBorder.drawWall();
+                if (tickStats.shouldRun(TickPhase.WORLD_BORDER_PARTICLES)) {
+                    long particleStart = System.nanoTime();
+                    worldBorder.drawWall();
+                    // Don't count particles towards the world border phase
+                    phaseStart += tickStats.endPhase(TickPhase.WORLD_BORDER_PARTICLES, particleStart) - particleStart;
+                }
                 // Set the mood
                 if (shouldShowFog && !isInWorldBorderWarningArea) {
                     isInWorldBorderWarningArea = true;
@@ -1172,11 +1203,10 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
                 removeFog("minecraft:fog_crimson_forest");
                 isInWorldBorderWarningArea = false;
             }
+            phaseStart = tickStats.endPhase(TickPhase.WORLD_BORDER, phaseStart);
 
-
-            for (Tickable entity : entityCache.getTickableEntities()) {
-                entity.tick();
-            }
+            tickStats.setTickedEntities(entityCache.tickEntities());
+            phaseStart = tickStats.endPhase(TickPhase.ENTITIES, phaseStart);
 
             if (armAnimationTicks >= 0) {
                 // As of 1.18.2 Java Edition, it appears that the swing time is dynamically updated depending on the
@@ -1205,6 +1235,8 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
                     armAnimationTicks = -1;
                 }
             }
+            tickStats.endPhase(TickPhase.ARM_ANIMATION, phaseStart);
+            tickStats.endTick();
         } catch (Throwable throwable) {
             throwable.printStackTrace();
         }
@@ -1617,11 +1649,39 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private void sendDownstreamPacket0(Packet packet) {
         if (protocol.getState().equals(ProtocolState.GAME) || packet.getClass() == ServerboundCustomQueryPacket.class) {
             downstream.sendPacket(packet);
+            PacketRecorder recorder = packetRecorder;
+            if (recorder != null) {
+                recorder.record(PacketRecorder.Direction.JAVA_OUTBOUND, packet.getClass(), -1);
+            }
         } else {
             geyser.getLogger().debug("Tried to send downstream packet " + packet.getClass().getSimpleName() + " before connected to the server");
         }
     }
 
+    /**
+     * Starts recording the packets of this session, replacing any previous recording.
+     *
+     * @return the new recorder
+     */
+    public PacketRecorder startPacketRecording() {
+        PacketRecorder recorder = new PacketRecorder(bedrockUsername());
+        this.packetRecorder = recorder;
+        this.upstream.setPacketRecorder(recorder);
+        return recorder;
+    }
+
+    /**
+     * Stops recording the packets of this session.
+     *
+     * @return the recorder that was in use, or null if this session was not being recorded
+     */
+    public @Nullable PacketRecorder stopPacketRecording() {
+        PacketRecorder recorder = this.packetRecorder;
+        this.packetRecorder = null;
+        this.upstream.setPacketRecorder(null);
+        return recorder;
+    }
+
     /**
      * Update the cached value for the reduced debug info gamerule.
      * If enabled, also hides the player's coordinates.
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the last {@link #CAPACITY} packets of a single session, so lag of a single player can be looked into
+ * without turning on debug logging for everyone. Every packet is also emitted as a JFR event.
+ * <p>
+ * Recordings can be written to a compact binary file with {@link #dump(Path)} and read back with {@link #read(InputStream)}.
+ */
+public final class PacketRecorder {
+    public static final int CAPACITY = 8192;
+
+    private static final int MAGIC = 0x47505231; // GPR1
+    private static final int FORMAT_VERSION = 1;
+    /**
+     * Checked before creating an event, so no event is allocated while JFR isn't recording packets.
+     */
+    private static final EventType PACKET_EVENT_TYPE = EventType.getEventType(PacketEvent.class);
+
+    private final String sessionName;
+    private final long startMillis = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+
+    /*
+     * The ring buffer, stored as parallel arrays so recording a packet doesn't allocate unless JFR is recording it too.
+     */
+    private final long[] timestamps = new long[CAPACITY];
+    private final byte[] directions = new byte[CAPACITY];
+    private final int[] packets = new int[CAPACITY];
+    private final long[] translationTimes = new long[CAPACITY];
+    /**
+     * The total amount of packets recorded; the next packet is written at this index modulo {@link #CAPACITY}.
+     */
+    private long recorded;
+
+    private final Object2IntMap<Class<?>> packetIndexes = new Object2IntOpenHashMap<>();
+    private final List<String> packetNames = new ArrayList<>();
+
+    public PacketRecorder(String sessionName) {
+        this.sessionName = sessionName;
+        this.packetIndexes.defaultReturnValue(-1);
+    }
+
+    /**
+     * Records a packet.
+     *
+     * @param direction where the packet came from and is going
+     * @param packet the class of the packet
+     * @param translationNanos how long translating the packet took, or -1 if it was not translated
+     */
+    public void record(Direction direction, Class<?> packet, long translationNanos) {
+        synchronized (this) {
+            int packetIndex = packetIndexes.getInt(packet);
+            if (packetIndex == -1) {
+                packetIndex = packetNames.size();
+                packetNames.add(packet.getSimpleName());
+                packetIndexes.put(packet, packetIndex);
+            }
+
+            int index = (int) (recorded++ % CAPACITY);
+            timestamps[index] = System.nanoTime() - startNanos;
+            directions[index] = (byte) direction.ordinal();
+            packets[index] = packetIndex;
+            translationTimes[index] = translationNanos;
+        }
+
+        if (PACKET_EVENT_TYPE.isEnabled()) {
+            PacketEvent event = new PacketEvent();
+            event.session = sessionName;
+            event.direction = direction.name();
+            event.packet = packet.getSimpleName();
+            event.translationTime = translationNanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * @return how many packets are currently held in the buffer
+     */
+    public synchronized int size() {
+        return (int) Math.min(recorded, CAPACITY);
+    }
+
+    /**
+     * Writes every packet currently held in the buffer to a file, oldest first.
+     *
+     * @param file the file to write to
+     */
+    public void dump(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (OutputStream stream = Files.newOutputStream(file)) {
+            write(stream);
+        }
+    }
+
+    private synchronized void write(OutputStream stream) throws IOException {
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream));
+        output.writeInt(MAGIC);
+        output.writeByte(FORMAT_VERSION);
+        output.writeUTF(sessionName);
+        output.writeLong(startMillis);
+
+        output.writeShort(packetNames.size());
+        for (String name : packetNames) {
+            output.writeUTF(name);
+        }
+
+        int size = (int) Math.min(recorded, CAPACITY);
+        output.writeInt(size);
+        long first = recorded - size;
+        for (long i = first; i < recorded; i++) {
+            int index = (int) (i % CAPACITY);
+            output.writeLong(timestamps[index]);
+            output.writeByte(directions[index]);
+            output.writeShort(packets[index]);
+            output.writeLong(translationTimes[index]);
+        }
+        output.flush();
+    }
+
+    /**
+     * Reads a recording written by {@link #dump(Path)}.
+     *
+     * @param stream the stream to read from
+     * @return the recording
+     */
+    public static Recording read(InputStream stream) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(stream));
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a packet recording");
+        }
+        int version = input.readUnsignedByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported packet recording version " + version);
+        }
+        String sessionName = input.readUTF();
+        long startMillis = input.readLong();
+
+        String[] packetNames = new String[input.readUnsignedShort()];
+        for (int i = 0; i < packetNames.length; i++) {
+            packetNames[i] = input.readUTF();
+        }
+
+        Direction[] directions = Direction.values();
+        int size = input.readInt();
+        List<RecordedPacket> packets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long timestamp = input.readLong();
+            Direction direction = directions[input.readUnsignedByte()];
+            String packet = packetNames[input.readUnsignedShort()];
+            long translationNanos = input.readLong();
+            packets.add(new RecordedPacket(timestamp, direction, packet, translationNanos));
+        }
+        return new Recording(sessionName, startMillis, packets);
+    }
+
+    public enum Direction {
+        JAVA_INBOUND,
+        JAVA_OUTBOUND,
+        BEDROCK_INBOUND,
+        BEDROCK_OUTBOUND
+    }
+
+    /**
+     * @param sessionName the name of the recorded session
+     * @param startMillis when recording started, in milliseconds since the epoch
+     * @param packets every recorded packet, oldest first
+     */
+    public record Recording(String sessionName, long startMillis, List<RecordedPacket> packets) {
+    }
+
+    /**
+     * @param timestampNanos when the packet was recorded, in nanoseconds since recording started
+     * @param direction where the packet came from and was going
+     * @param packet the simple class name of the packet
+     * @param translationNanos how long translating the packet took, or -1 if it was not translated
+     */
+    public record RecordedPacket(long timestampNanos, Direction direction, String packet, long translationNanos) {
+    }
+
+    @Name("org.geysermc.geyser.Packet")
+    @Label("Geyser Packet")
+    @Category("Geyser")
+    @Description("A packet sent or received by a session with packet recording enabled")
+    static final class PacketEvent extends Event {
+        @Label("Session")
+        String session;
+
+        @Label("Direction")
+        String direction;
+
+        @Label("Packet")
+        String packet;
+
+        @Label("Translation Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long translationTime;
+    }
+}
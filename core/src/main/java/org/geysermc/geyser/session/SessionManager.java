@@ -26,13 +26,17 @@
 package org.geysermc.geyser.session;
 
 import com.google.common.collect.ImmutableList;
+import io.netty.channel.EventLoop;
 import lombok.AccessLevel;
 import lombok.Getter;
 import org.geysermc.geyser.text.GeyserLocale;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.net.InetSocketAddress;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public final class SessionManager {
     /**
@@ -45,12 +49,39 @@ public final class SessionManager {
      */
     @Getter
     private final Map<UUID, GeyserSession> sessions = new ConcurrentHashMap<>();
+    /**
+     * All pending and active sessions. Backs {@link #allSessions()} so iterating every session does not need a copy.
+     */
+    private final Set<GeyserSession> allSessions = ConcurrentHashMap.newKeySet();
+    private final Collection<GeyserSession> allSessionsView = Collections.unmodifiableSet(allSessions);
+
+    /**
+     * Active sessions by XUID. Like {@link #sessions}, this does not include pending sessions.
+     */
+    private final Map<String, GeyserSession> sessionsByXuid = new ConcurrentHashMap<>();
+    /**
+     * Pending and active sessions by lowercase Bedrock username, populated once the Bedrock client has authenticated.
+     */
+    private final Map<String, GeyserSession> sessionsByBedrockUsername = new ConcurrentHashMap<>();
+    /**
+     * Pending and active sessions by remote address.
+     */
+    private final Map<InetSocketAddress, GeyserSession> sessionsByAddress = new ConcurrentHashMap<>();
 
     /**
      * Called once the player has successfully authenticated to the Geyser server.
      */
     public void addPendingSession(GeyserSession session) {
         pendingSessions.add(session);
+        allSessions.add(session);
+
+        if (session.getAuthData() != null) {
+            sessionsByBedrockUsername.put(session.bedrockUsername().toLowerCase(Locale.ROOT), session);
+        }
+        InetSocketAddress address = session.getSocketAddress();
+        if (address != null) {
+            sessionsByAddress.put(address, session);
+        }
     }
 
     /**
@@ -59,6 +90,8 @@ public final class SessionManager {
     public void addSession(UUID uuid, GeyserSession session) {
         pendingSessions.remove(session);
         sessions.put(uuid, session);
+        allSessions.add(session);
+        sessionsByXuid.put(session.xuid(), session);
     }
 
     public void removeSession(GeyserSession session) {
@@ -67,31 +100,93 @@ public final class SessionManager {
             // Connection was likely pending
             pendingSessions.remove(session);
         }
+        allSessions.remove(session);
+
+        // Only remove index entries that still point to this session - a newer connection may have replaced them
+        if (session.getAuthData() != null) {
+            sessionsByXuid.remove(session.xuid(), session);
+            sessionsByBedrockUsername.remove(session.bedrockUsername().toLowerCase(Locale.ROOT), session);
+        }
+        InetSocketAddress address = session.getSocketAddress();
+        if (address != null) {
+            sessionsByAddress.remove(address, session);
+        }
     }
 
-    public GeyserSession sessionByXuid(@Nonnull String xuid) {
+    /**
+     * @return the session of the player with this XUID that is currently logged in to the Java server, if any.
+     */
+    public @Nullable GeyserSession sessionByXuid(@Nonnull String xuid) {
         Objects.requireNonNull(xuid);
-        for (GeyserSession session : sessions.values()) {
-            if (session.xuid().equals(xuid)) {
-                return session;
-            }
-        }
-        return null;
+        return sessionsByXuid.get(xuid);
+    }
+
+    /**
+     * @return the session of the player currently logged in to the Java server with this UUID, if any.
+     */
+    public @Nullable GeyserSession sessionByJavaUuid(@Nonnull UUID uuid) {
+        Objects.requireNonNull(uuid);
+        return sessions.get(uuid);
+    }
+
+    /**
+     * @param username the Bedrock username. Case-insensitive.
+     */
+    public @Nullable GeyserSession sessionByBedrockUsername(@Nonnull String username) {
+        Objects.requireNonNull(username);
+        return sessionsByBedrockUsername.get(username.toLowerCase(Locale.ROOT));
+    }
+
+    public @Nullable GeyserSession sessionByAddress(@Nonnull InetSocketAddress address) {
+        Objects.requireNonNull(address);
+        return sessionsByAddress.get(address);
     }
 
     /**
      * Creates a new, immutable list containing all pending and active sessions.
+     * If the list does not need to be kept, prefer {@link #allSessions()}, which does not copy.
      */
     public List<GeyserSession> getAllSessions() {
-        return ImmutableList.<GeyserSession>builder() // builderWithExpectedSize is probably not a good idea yet as older Spigot builds probably won't have it.
-                .addAll(pendingSessions)
-                .addAll(sessions.values())
-                .build();
+        return ImmutableList.copyOf(allSessions);
+    }
+
+    /**
+     * @return a live, unmodifiable view of all pending and active sessions. Iteration is weakly consistent.
+     */
+    public Collection<GeyserSession> allSessions() {
+        return allSessionsView;
+    }
+
+    /**
+     * Runs the consumer for every pending and active session, on that session's event loop.
+     * Sessions that share an event loop are handled by a single task, so the amount of tasks submitted
+     * scales with the amount of event loops rather than the amount of players.
+     */
+    public void broadcast(Consumer<GeyserSession> consumer) {
+        Map<EventLoop, List<GeyserSession>> shards = new IdentityHashMap<>();
+        for (GeyserSession session : allSessions) {
+            shards.computeIfAbsent(session.getEventLoop(), loop -> new ArrayList<>()).add(session);
+        }
+
+        for (Map.Entry<EventLoop, List<GeyserSession>> shard : shards.entrySet()) {
+            List<GeyserSession> shardSessions = shard.getValue();
+            shard.getKey().execute(() -> {
+                for (GeyserSession session : shardSessions) {
+                    if (session.isClosed()) {
+                        continue;
+                    }
+                    try {
+                        consumer.accept(session);
+                    } catch (Throwable e) {
+                        session.getGeyser().getLogger().error("Error thrown in " + session.bedrockUsername() + "'s event loop!", e);
+                    }
+                }
+            });
+        }
     }
 
     public void disconnectAll(String message) {
-        Collection<GeyserSession> sessions = getAllSessions();
-        for (GeyserSession session : sessions) {
+        for (GeyserSession session : getAllSessions()) {
             session.disconnect(GeyserLocale.getPlayerLocaleString(message, session.locale()));
         }
     }
@@ -100,6 +195,6 @@ public final class SessionManager {
      * @return the total amount of sessions, including those pending.
      */
     public int size() {
-        return pendingSessions.size() + sessions.size();
+        return allSessions.size();
     }
 }
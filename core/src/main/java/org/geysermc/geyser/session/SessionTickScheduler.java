@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import io.netty.channel.EventLoop;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives {@link GeyserSession#tick()} for every session from one shared timer, instead of each session scheduling
+ * its own repeating task on its event loop.
+ * <p>
+ * Sessions are grouped by event loop. Every tick, each event loop is handed a single task that ticks all of its
+ * sessions. If that task has not run yet by the time of the next tick, the event loop is behind: the tick is not
+ * queued again, and its sessions skip non-critical phases until they catch up.
+ */
+public final class SessionTickScheduler implements TimerTask {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final HashedWheelTimer timer = new HashedWheelTimer(new DefaultThreadFactory("Geyser Tick Timer", true),
+            5, TimeUnit.MILLISECONDS, 64);
+    private final Map<EventLoop, Shard> shards = new ConcurrentHashMap<>();
+
+    /**
+     * The amount of ticks that were not run because an event loop was still busy with a previous tick.
+     */
+    private final LongAdder missedTicks = new LongAdder();
+
+    private long nextTick;
+    private volatile boolean running;
+
+    public void start() {
+        running = true;
+        nextTick = System.nanoTime() + TICK_NANOS;
+        timer.newTimeout(this, TICK_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    public void shutdown() {
+        running = false;
+        timer.stop();
+        shards.clear();
+    }
+
+    public void register(GeyserSession session) {
+        // Add within compute so this can't race with unregister removing the shard
+        shards.compute(session.getEventLoop(), (loop, shard) -> {
+            if (shard == null) {
+                shard = new Shard(loop);
+            }
+            shard.sessions.add(session);
+            return shard;
+        });
+    }
+
+    public void unregister(GeyserSession session) {
+        // Drop empty shards, so event loops without sessions are no longer iterated or reported as busy
+        shards.computeIfPresent(session.getEventLoop(), (loop, shard) -> {
+            shard.sessions.remove(session);
+            return shard.sessions.isEmpty() ? null : shard;
+        });
+    }
+
+    public long getMissedTicks() {
+        return missedTicks.sum();
+    }
+
+    /**
+     * @return the total time this event loop has spent ticking sessions, in nanoseconds. Starts over from zero once
+     * the event loop has had no sessions
+     */
+    public long getBusyNanos(EventLoop eventLoop) {
+        Shard shard = shards.get(eventLoop);
+        return shard == null ? 0 : shard.busyNanos;
+    }
+
+    @Override
+    public void run(Timeout timeout) {
+        if (!running) {
+            return;
+        }
+
+        for (Shard shard : shards.values()) {
+            if (shard.sessions.isEmpty()) {
+                continue;
+            }
+            if (shard.queued.compareAndSet(false, true)) {
+                shard.eventLoop.execute(shard);
+            } else {
+                shard.behind = true;
+                missedTicks.increment();
+            }
+        }
+
+        // Schedule against the ideal tick time so delays in the timer don't accumulate
+        nextTick += TICK_NANOS;
+        long delay = nextTick - System.nanoTime();
+        if (delay < 0) {
+            // Too far behind to catch up; start counting from now
+            nextTick = System.nanoTime();
+            delay = 0;
+        }
+        timer.newTimeout(this, delay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * All sessions ticked on one event loop.
+     */
+    private static final class Shard implements Runnable {
+        private final EventLoop eventLoop;
+        private final Set<GeyserSession> sessions = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private volatile boolean behind;
+        /**
+         * Only written to from the event loop itself.
+         */
+        private volatile long busyNanos;
+
+        private Shard(EventLoop eventLoop) {
+            this.eventLoop = eventLoop;
+        }
+
+        @Override
+        public void run() {
+            boolean behind = this.behind;
+            this.behind = false;
+            long start = System.nanoTime();
+            try {
+                for (GeyserSession session : sessions) {
+                    if (session.isClosed()) {
+                        continue;
+                    }
+                    session.getTickStats().setDeferNonCritical(behind);
+                    session.tick();
+                }
+            } finally {
+                busyNanos += System.nanoTime() - start;
+                queued.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks how long each {@link TickPhase} of a session's tick takes, and decides whether non-critical phases should run.
+ * Only written to from the session's event loop; reads from other threads may be slightly out of date.
+ */
+public final class SessionTickStats {
+    /**
+     * How long a single session may spend in one tick before non-critical phases are skipped.
+     */
+    public static final long TICK_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    /**
+     * The minimum time between two overrun reports of the same session.
+     */
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final GeyserSession session;
+
+    private final long[] lastPhaseNanos = new long[TickPhase.VALUES.length];
+    private final long[] maxPhaseNanos = new long[TickPhase.VALUES.length];
+
+    private long tickStart;
+
+    @Getter
+    private long lastTickNanos;
+    @Getter
+    private long maxTickNanos;
+    @Getter
+    private long ticks;
+    @Getter
+    private long overruns;
+    @Getter
+    private long skippedPhases;
+    /**
+     * How many entities were ticked in the last tick.
+     */
+    @Getter
+    @Setter(AccessLevel.PACKAGE)
+    private int tickedEntities;
+
+    private long lastReport;
+
+    /**
+     * Set by the {@link SessionTickScheduler} when this session's event loop could not keep up with previous ticks.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private boolean deferNonCritical;
+
+    SessionTickStats(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Marks the start of a tick.
+     *
+     * @return the current time, to be passed as the start of the first phase
+     */
+    long startTick() {
+        return tickStart = System.nanoTime();
+    }
+
+    /**
+     * Records how long a phase took.
+     *
+     * @param phaseStart the time that this phase started at
+     * @return the current time, to be passed as the start of the next phase
+     */
+    long endPhase(TickPhase phase, long phaseStart) {
+        long now = System.nanoTime();
+        long duration = now - phaseStart;
+        int ordinal = phase.ordinal();
+        lastPhaseNanos[ordinal] = duration;
+        if (duration > maxPhaseNanos[ordinal]) {
+            maxPhaseNanos[ordinal] = duration;
+        }
+        return now;
+    }
+
+    /**
+     * @return if this phase should run this tick. Critical phases always run; the rest are skipped if the tick
+     * is already over budget or the event loop is behind.
+     */
+    boolean shouldRun(TickPhase phase) {
+        if (phase.isCritical()) {
+            return true;
+        }
+        if (deferNonCritical || System.nanoTime() - tickStart > TICK_BUDGET_NANOS) {
+            lastPhaseNanos[phase.ordinal()] = 0;
+            skippedPhases++;
+            return false;
+        }
+        return true;
+    }
+
+    void endTick() {
+        long now = System.nanoTime();
+        long duration = now - tickStart;
+        ticks++;
+        lastTickNanos = duration;
+        if (duration > maxTickNanos) {
+            maxTickNanos = duration;
+        }
+
+        if (duration > TICK_BUDGET_NANOS) {
+            overruns++;
+            if (session.getGeyser().getConfig().isDebugMode() && now - lastReport > REPORT_INTERVAL_NANOS) {
+                lastReport = now;
+                session.getGeyser().getLogger().debug("Tick for " + session.bedrockUsername() + " took "
+                        + formatMillis(duration) + " (budget " + formatMillis(TICK_BUDGET_NANOS) + "): " + phaseBreakdown()
+                        + "; " + tickedEntities + " entities ticked");
+            }
+        }
+    }
+
+    /**
+     * @return the duration of this phase in the last tick, in nanoseconds
+     */
+    public long getLastPhaseNanos(TickPhase phase) {
+        return lastPhaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * @return the longest this phase has taken since the session started ticking, in nanoseconds
+     */
+    public long getMaxPhaseNanos(TickPhase phase) {
+        return maxPhaseNanos[phase.ordinal()];
+    }
+
+    public String phaseBreakdown() {
+        StringBuilder builder = new StringBuilder();
+        for (TickPhase phase : TickPhase.VALUES) {
+            if (!builder.isEmpty()) {
+                builder.append(", ");
+            }
+            builder.append(phase.name().toLowerCase(Locale.ROOT)).append('=').append(formatMillis(lastPhaseNanos[phase.ordinal()]));
+        }
+        return builder.toString();
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.2fms", nanos / 1_000_000d);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019-2022 GeyserMC. http://geysermc.org
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -23,15 +23,38 @@
  * @link https://github.com/GeyserMC/Geyser
  */
 
-package org.geysermc.geyser.registry.loader;
+package org.geysermc.geyser.session;
 
-import it.unimi.dsi.fastutil.Pair;
+import lombok.Getter;
 
 /**
- * A RegistryLoader that loads data from two different locations, yet with the same input type.
- *
- * @param <I> the input type
- * @param <V> the value
+ * The individual steps of {@link GeyserSession#tick()}, used to measure where tick time is spent.
  */
-public abstract class MultiResourceRegistryLoader<I, V> implements RegistryLoader<Pair<I, I>, V> {
-}
\ No newline at end of file
+public enum TickPhase {
+    CHUNKS(true),
+    /**
+     * Skins can wait for a later tick.
+     */
+    SKINS(false),
+    PISTONS(true),
+    MOVEMENT(true),
+    WORLD_BORDER(true),
+    /**
+     * Purely visual, and can be skipped for a tick without any lasting effect.
+     */
+    WORLD_BORDER_PARTICLES(false),
+    ENTITIES(true),
+    ARM_ANIMATION(true);
+
+    public static final TickPhase[] VALUES = values();
+
+    /**
+     * If false, this phase may be skipped when the tick is over budget.
+     */
+    @Getter
+    private final boolean critical;
+
+    TickPhase(boolean critical) {
+        this.critical = critical;
+    }
+}
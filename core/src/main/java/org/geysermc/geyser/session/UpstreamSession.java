@@ -32,6 +32,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.cloudburstmc.protocol.bedrock.BedrockServerSession;
 import org.cloudburstmc.protocol.bedrock.codec.BedrockCodecHelper;
 import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.geysermc.geyser.network.CompressionPolicy;
 import org.geysermc.geyser.network.GeyserBedrockPeer;
 
 import java.net.InetSocketAddress;
@@ -44,16 +45,34 @@ public class UpstreamSession {
     @Getter @Setter
     private boolean initialized = false;
     private Queue<BedrockPacket> postStartGamePackets = new ArrayDeque<>();
+    /**
+     * How packets to this client are compressed, once the client has requested network settings.
+     */
+    @Getter @Setter
+    private volatile CompressionPolicy.Settings compression;
+    /**
+     * Set while {@link GeyserSession#getPacketRecorder()} is recording this session.
+     */
+    @Setter
+    private volatile PacketRecorder packetRecorder;
 
     public void sendPacket(@NonNull BedrockPacket packet) {
         if (!isClosed()) {
             session.sendPacket(packet);
+            PacketRecorder recorder = packetRecorder;
+            if (recorder != null) {
+                recorder.record(PacketRecorder.Direction.BEDROCK_OUTBOUND, packet.getClass(), -1);
+            }
         }
     }
 
     public void sendPacketImmediately(@NonNull BedrockPacket packet) {
         if (!isClosed()) {
             session.sendPacketImmediately(packet);
+            PacketRecorder recorder = packetRecorder;
+            if (recorder != null) {
+                recorder.record(PacketRecorder.Direction.BEDROCK_OUTBOUND, packet.getClass(), -1);
+            }
         }
     }
 
@@ -84,6 +103,13 @@ public class UpstreamSession {
         return !session.getPeer().isConnected() && !session.getPeer().isConnecting();
     }
 
+    /**
+     * @return false if the connection's outbound buffer is full and further packets will only queue up
+     */
+    public boolean isWritable() {
+        return session.getPeer().getChannel().isWritable();
+    }
+
     public InetSocketAddress getAddress() {
         // Will always be an InetSocketAddress. See ProxyChannel#remoteAddress
         return (InetSocketAddress) ((GeyserBedrockPeer) session.getPeer()).getRealAddress();
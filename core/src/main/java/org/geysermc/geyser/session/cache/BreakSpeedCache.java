@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import org.geysermc.geyser.inventory.GeyserItemStack;
+import org.geysermc.geyser.registry.type.BlockMapping;
+import org.geysermc.geyser.registry.type.ItemMapping;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.BlockUtils;
+import org.geysermc.geyser.util.ItemUtils;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the mining properties of the held item and helmet resolved, so that calculating how long the session player
+ * takes to break a block doesn't need to look through enchantment NBT every time.
+ * <p>
+ * The properties are resolved again once the held item, the helmet or their NBT is replaced.
+ */
+public class BreakSpeedCache {
+    private final GeyserSession session;
+
+    private GeyserItemStack heldItem;
+    private ItemMapping heldItemMapping;
+
+    private CompoundTag heldItemNbt;
+    private int efficiencyLevel;
+
+    private CompoundTag helmetNbt;
+    private boolean aquaAffinity;
+
+    public BreakSpeedCache(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * @return how long, in seconds, the session player takes to break this block with the item they are holding
+     */
+    public double getBreakTime(BlockMapping blockMapping) {
+        GeyserItemStack item = session.getPlayerInventory().getItemInHand();
+        if (heldItemMapping == null || item != heldItem) {
+            // The Java ID of an item stack never changes, so neither does its mapping
+            this.heldItem = item;
+            this.heldItemMapping = item == null ? ItemMapping.AIR : item.getMapping(session);
+        }
+
+        EntityEffectCache effectCache = session.getEffectCache();
+        int hasteLevel = Math.max(effectCache.getHaste(), effectCache.getConduitPower());
+        int miningFatigueLevel = effectCache.getMiningFatigue();
+
+        boolean insideOfWaterWithoutAquaAffinity = session.getCollisionManager().isWaterInEyes()
+                && !hasAquaAffinity(session.getPlayerInventory().getItem(5).getNbt());
+
+        return BlockUtils.getBreakTime(session, blockMapping, heldItemMapping, getEfficiencyLevel(item == null ? null : item.getNbt()),
+                hasteLevel, miningFatigueLevel, insideOfWaterWithoutAquaAffinity, session.getPlayerEntity().isOnGround());
+    }
+
+    /**
+     * @param nbt the NBT of the held item
+     * @return the efficiency level of the held item
+     */
+    int getEfficiencyLevel(@Nullable CompoundTag nbt) {
+        if (nbt != heldItemNbt) {
+            this.heldItemNbt = nbt;
+            this.efficiencyLevel = ItemUtils.getEnchantmentLevel(nbt, "minecraft:efficiency");
+        }
+        return efficiencyLevel;
+    }
+
+    /**
+     * @param nbt the NBT of the helmet
+     * @return if the helmet is enchanted with aqua affinity
+     */
+    boolean hasAquaAffinity(@Nullable CompoundTag nbt) {
+        if (nbt != helmetNbt) {
+            this.helmetNbt = nbt;
+            this.aquaAffinity = ItemUtils.getEnchantmentLevel(nbt, "minecraft:aqua_affinity") >= 1;
+        }
+        return aquaAffinity;
+    }
+}
@@ -26,6 +26,9 @@
 package org.geysermc.geyser.session.cache;
 
 import com.github.steveice10.mc.protocol.data.game.chunk.DataPalette;
+import com.google.common.hash.Hashing;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import lombok.Getter;
@@ -33,17 +36,45 @@ import lombok.Setter;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.level.chunk.GeyserChunk;
+import org.geysermc.geyser.level.chunk.SharedChunkStore;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.util.MathUtils;
 
+import javax.annotation.Nullable;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Caches the Java blocks of every chunk the session has loaded.
+ * <p>
+ * The cache is only ever changed on the session's event loop, which can also read it directly. Other threads must use
+ * {@link #getBlockAtConcurrently(int, int, int)} or {@link #snapshot(int, int, int, int, int, int)}, which take a read
+ * lock that the event loop holds exclusively while it writes.
+ * <p>
+ * If a {@link SharedChunkStore} is enabled, columns are shared with other sessions and must not be changed. Block
+ * changes to them are kept in a per-session overlay instead, until there are enough to warrant a private copy.
+ */
 public class ChunkCache {
+    /**
+     * The amount of block changes to a shared column after which the session takes its own copy.
+     */
+    private static final int MAX_OVERLAY_SIZE = 512;
+
+    private final GeyserSession session;
     private final boolean cache;
     private final Long2ObjectMap<GeyserChunk> chunks;
+    private final StampedLock lock = new StampedLock();
+
+    private final SharedChunkStore sharedStore;
+    private final Long2ObjectMap<SharedChunkStore.SharedColumn> sharedColumns;
+    /**
+     * Block changes to shared columns, indexed by {@link #overlayIndex(int, int, int)}.
+     */
+    private final Long2ObjectMap<Int2IntMap> overlays;
 
     @Setter
-    private int minY;
+    private volatile int minY;
     @Setter
-    private int heightY;
+    private volatile int heightY;
 
     /**
      * Which dimension Bedrock understands themselves to be in.
@@ -53,18 +84,66 @@ public class ChunkCache {
     private BedrockDimension bedrockDimension = BedrockDimension.OVERWORLD;
 
     public ChunkCache(GeyserSession session) {
-        this.cache = !session.getGeyser().getWorldManager().hasOwnChunkCache(); // To prevent Spigot from initializing
+        this(session, !session.getGeyser().getWorldManager().hasOwnChunkCache(), // To prevent Spigot from initializing
+                session.getGeyser().getSharedChunkStore());
+    }
+
+    ChunkCache(GeyserSession session, boolean cache, @Nullable SharedChunkStore sharedStore) {
+        this.session = session;
+        this.cache = cache;
         chunks = cache ? new Long2ObjectOpenHashMap<>() : null;
+
+        this.sharedStore = cache ? sharedStore : null;
+        if (this.sharedStore != null) {
+            this.sharedColumns = new Long2ObjectOpenHashMap<>();
+            this.overlays = new Long2ObjectOpenHashMap<>();
+        } else {
+            this.sharedColumns = null;
+            this.overlays = null;
+        }
     }
 
-    public void addToCache(int x, int z, DataPalette[] chunks) {
+    /**
+     * @param chunks the block sections of this column
+     * @param chunkData the column as it was sent by the server, used to find identical columns of other sessions
+     */
+    public void addToCache(int x, int z, DataPalette[] chunks, byte[] chunkData) {
         if (!cache) {
             return;
         }
 
         long chunkPosition = MathUtils.chunkPositionToLong(x, z);
         GeyserChunk geyserChunk = GeyserChunk.from(chunks);
-        this.chunks.put(chunkPosition, geyserChunk);
+
+        SharedChunkStore.SharedColumn column = null;
+        if (sharedStore != null && !session.isClosed()) {
+            // A closed session has already released its columns and would never release this one
+            String server = session.getRemoteServer().address() + ":" + session.getRemoteServer().port();
+            SharedChunkStore.ColumnKey key = new SharedChunkStore.ColumnKey(server, session.getWorldName(), chunkPosition);
+            column = sharedStore.acquire(key, Hashing.murmur3_128().hashBytes(chunkData), geyserChunk.estimateSize(), geyserChunk);
+            geyserChunk = column.chunk();
+        }
+
+        putColumn(chunkPosition, geyserChunk, column);
+    }
+
+    /**
+     * Stores a column, replacing the one at this position. A shared column is released once it is replaced or removed.
+     */
+    void putColumn(long chunkPosition, GeyserChunk geyserChunk, @Nullable SharedChunkStore.SharedColumn column) {
+        long stamp = lock.writeLock();
+        try {
+            this.chunks.put(chunkPosition, geyserChunk);
+            if (sharedStore != null) {
+                overlays.remove(chunkPosition);
+                SharedChunkStore.SharedColumn previous = column != null ? sharedColumns.put(chunkPosition, column) : sharedColumns.remove(chunkPosition);
+                if (previous != null) {
+                    sharedStore.release(previous);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -90,28 +169,102 @@ public class ChunkCache {
             return;
         }
 
-        DataPalette palette = chunk.sections()[(y - minY) >> 4];
-        if (palette == null) {
-            if (block != BlockStateValues.JAVA_AIR_ID) {
-                // A previously empty chunk, which is no longer empty as a block has been added to it
-                palette = DataPalette.createForChunk();
-                // Fixes the chunk assuming that all blocks is the `block` variable we are updating. /shrug
-                palette.getPalette().stateToId(BlockStateValues.JAVA_AIR_ID);
-                chunk.sections()[(y - minY) >> 4] = palette;
-            } else {
-                // Nothing to update
-                return;
+        long stamp = lock.writeLock();
+        try {
+            if (sharedStore != null) {
+                long chunkPosition = MathUtils.chunkPositionToLong(x >> 4, z >> 4);
+                SharedChunkStore.SharedColumn column = sharedColumns.get(chunkPosition);
+                if (column != null) {
+                    Int2IntMap overlay = overlays.computeIfAbsent(chunkPosition, position -> new Int2IntOpenHashMap());
+                    overlay.put(overlayIndex(x, y, z), block);
+                    if (overlay.size() > MAX_OVERLAY_SIZE) {
+                        copySharedColumn(chunkPosition, column, overlay);
+                    }
+                    return;
+                }
             }
-        }
 
-        palette.set(x & 0xF, y & 0xF, z & 0xF, block);
+            DataPalette palette = chunk.sections()[(y - minY) >> 4];
+            if (palette == null) {
+                if (block != BlockStateValues.JAVA_AIR_ID) {
+                    // A previously empty chunk, which is no longer empty as a block has been added to it
+                    palette = DataPalette.createForChunk();
+                    // Fixes the chunk assuming that all blocks is the `block` variable we are updating. /shrug
+                    palette.getPalette().stateToId(BlockStateValues.JAVA_AIR_ID);
+                    chunk.sections()[(y - minY) >> 4] = palette;
+                } else {
+                    // Nothing to update
+                    return;
+                }
+            }
+
+            palette.set(x & 0xF, y & 0xF, z & 0xF, block);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
+    /**
+     * Must be called on the session's event loop. Use {@link #getBlockAtConcurrently(int, int, int)} from other threads.
+     */
     public int getBlockAt(int x, int y, int z) {
         if (!cache) {
             return BlockStateValues.JAVA_AIR_ID;
         }
 
+        return getBlockAt0(x, y, z);
+    }
+
+    /**
+     * Can be called from any thread.
+     */
+    public int getBlockAtConcurrently(int x, int y, int z) {
+        if (!cache) {
+            return BlockStateValues.JAVA_AIR_ID;
+        }
+
+        long stamp = lock.readLock();
+        try {
+            return getBlockAt0(x, y, z);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Copies the blocks of a region, so another thread can read them without holding up the event loop.
+     * Can be called from any thread.
+     *
+     * @return the blocks from the given minimum coordinates (inclusive) to the given maximum coordinates (inclusive)
+     */
+    public BlockSnapshot snapshot(int fromX, int fromY, int fromZ, int toX, int toY, int toZ) {
+        int sizeX = toX - fromX + 1;
+        int sizeY = toY - fromY + 1;
+        int sizeZ = toZ - fromZ + 1;
+        if (sizeX <= 0 || sizeY <= 0 || sizeZ <= 0) {
+            throw new IllegalArgumentException("Maximum coordinates must not be below the minimum coordinates");
+        }
+
+        int[] blocks = new int[sizeX * sizeY * sizeZ];
+        if (cache) {
+            long stamp = lock.readLock();
+            try {
+                int index = 0;
+                for (int y = fromY; y <= toY; y++) {
+                    for (int z = fromZ; z <= toZ; z++) {
+                        for (int x = fromX; x <= toX; x++) {
+                            blocks[index++] = getBlockAt0(x, y, z);
+                        }
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return new BlockSnapshot(fromX, fromY, fromZ, sizeX, sizeY, sizeZ, blocks);
+    }
+
+    private int getBlockAt0(int x, int y, int z) {
         GeyserChunk column = this.getChunk(x >> 4, z >> 4);
         if (column == null) {
             return BlockStateValues.JAVA_AIR_ID;
@@ -122,6 +275,16 @@ public class ChunkCache {
             return BlockStateValues.JAVA_AIR_ID;
         }
 
+        if (overlays != null && !overlays.isEmpty()) {
+            Int2IntMap overlay = overlays.get(MathUtils.chunkPositionToLong(x >> 4, z >> 4));
+            if (overlay != null) {
+                int index = overlayIndex(x, y, z);
+                if (overlay.containsKey(index)) {
+                    return overlay.get(index);
+                }
+            }
+        }
+
         DataPalette chunk = column.sections()[(y - minY) >> 4];
         if (chunk != null) {
             return chunk.get(x & 0xF, y & 0xF, z & 0xF);
@@ -136,7 +299,68 @@ public class ChunkCache {
         }
 
         long chunkPosition = MathUtils.chunkPositionToLong(chunkX, chunkZ);
-        chunks.remove(chunkPosition);
+        long stamp = lock.writeLock();
+        try {
+            chunks.remove(chunkPosition);
+            if (sharedStore != null) {
+                overlays.remove(chunkPosition);
+                SharedChunkStore.SharedColumn column = sharedColumns.remove(chunkPosition);
+                if (column != null) {
+                    sharedStore.release(column);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Replaces a shared column with a copy of it that only this session uses, so block changes no longer need an
+     * overlay. Must be called while holding the write lock.
+     */
+    private void copySharedColumn(long chunkPosition, SharedChunkStore.SharedColumn column, Int2IntMap overlay) {
+        DataPalette[] sharedSections = column.chunk().sections();
+        DataPalette[] sections = new DataPalette[sharedSections.length];
+        for (int i = 0; i < sharedSections.length; i++) {
+            DataPalette shared = sharedSections[i];
+            if (shared == null) {
+                continue;
+            }
+            DataPalette palette = DataPalette.createForChunk();
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        palette.set(x, y, z, shared.get(x, y, z));
+                    }
+                }
+            }
+            sections[i] = palette;
+        }
+
+        for (Int2IntMap.Entry entry : overlay.int2IntEntrySet()) {
+            int index = entry.getIntKey();
+            int sectionIndex = index >> 12;
+            DataPalette palette = sections[sectionIndex];
+            if (palette == null) {
+                palette = DataPalette.createForChunk();
+                // See updateBlock
+                palette.getPalette().stateToId(BlockStateValues.JAVA_AIR_ID);
+                sections[sectionIndex] = palette;
+            }
+            palette.set(index & 0xF, (index >> 8) & 0xF, (index >> 4) & 0xF, entry.getIntValue());
+        }
+
+        chunks.put(chunkPosition, GeyserChunk.from(sections));
+        overlays.remove(chunkPosition);
+        sharedColumns.remove(chunkPosition);
+        sharedStore.release(column);
+    }
+
+    /**
+     * @return the index of this block within its column, for overlays
+     */
+    private int overlayIndex(int x, int y, int z) {
+        return ((y - minY) << 8) | ((z & 0xF) << 4) | (x & 0xF);
     }
 
     /**
@@ -149,7 +373,19 @@ public class ChunkCache {
             return;
         }
 
-        chunks.clear();
+        long stamp = lock.writeLock();
+        try {
+            chunks.clear();
+            if (sharedStore != null) {
+                overlays.clear();
+                for (SharedChunkStore.SharedColumn column : sharedColumns.values()) {
+                    sharedStore.release(column);
+                }
+                sharedColumns.clear();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     public int getChunkMinY() {
@@ -159,4 +395,37 @@ public class ChunkCache {
     public int getChunkHeightY() {
         return heightY >> 4;
     }
+
+    /**
+     * An immutable copy of the blocks of a region of the chunk cache. Blocks outside of the region are air.
+     */
+    public static final class BlockSnapshot {
+        private final int minX;
+        private final int minY;
+        private final int minZ;
+        private final int sizeX;
+        private final int sizeY;
+        private final int sizeZ;
+        private final int[] blocks;
+
+        private BlockSnapshot(int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ, int[] blocks) {
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.sizeX = sizeX;
+            this.sizeY = sizeY;
+            this.sizeZ = sizeZ;
+            this.blocks = blocks;
+        }
+
+        public int getBlockAt(int x, int y, int z) {
+            int relativeX = x - minX;
+            int relativeY = y - minY;
+            int relativeZ = z - minZ;
+            if (relativeX < 0 || relativeY < 0 || relativeZ < 0 || relativeX >= sizeX || relativeY >= sizeY || relativeZ >= sizeZ) {
+                return BlockStateValues.JAVA_AIR_ID;
+            }
+            return blocks[(relativeY * sizeZ + relativeZ) * sizeX + relativeX];
+        }
+    }
 }
@@ -29,8 +29,9 @@ import it.unimi.dsi.fastutil.ints.Int2LongMap;
 import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import lombok.Getter;
 import org.geysermc.geyser.entity.type.Entity;
 import org.geysermc.geyser.entity.type.Tickable;
@@ -50,9 +51,23 @@ public class EntityCache {
     @Getter
     private final Long2ObjectMap<Entity> entities = new Long2ObjectOpenHashMap<>();
     /**
-     * A list of all entities that must be ticked.
+     * All spawned entities that can be ticked.
      */
-    private final List<Tickable> tickableEntities = new ObjectArrayList<>();
+    private final Set<Tickable> tickableEntities = new ObjectOpenHashSet<>();
+    /**
+     * The tickable entities that currently have something to do. Sleeping entities cost nothing per tick.
+     */
+    private final Set<Tickable> awakeTickableEntities = new LinkedHashSet<>();
+    /**
+     * Wake-ups (true) and sleeps (false) requested while entities are being ticked, applied once ticking is done.
+     */
+    private final Map<Tickable, Boolean> pendingTickableChanges = new Object2ObjectLinkedOpenHashMap<>();
+    private boolean ticking = false;
+    /**
+     * How many entities were ticked during the last tick.
+     */
+    @Getter
+    private int lastTickedEntities;
     private final Int2LongMap entityIdTranslations = new Int2LongOpenHashMap();
     private final Map<UUID, PlayerEntity> playerEntities = new Object2ObjectOpenHashMap<>();
     private final Map<UUID, BossBar> bossBars = new Object2ObjectOpenHashMap<>();
@@ -68,9 +83,12 @@ public class EntityCache {
         if (cacheEntity(entity)) {
             entity.spawnEntity();
 
-            if (entity instanceof Tickable) {
-                // Start ticking it
-                tickableEntities.add((Tickable) entity);
+            if (entity instanceof Tickable tickable) {
+                tickableEntities.add(tickable);
+                if (tickable.startsAwake()) {
+                    // Start ticking it
+                    setAwake(tickable, true);
+                }
             }
         }
     }
@@ -94,8 +112,8 @@ public class EntityCache {
             long geyserId = entityIdTranslations.remove(entity.getEntityId());
             entities.remove(geyserId);
 
-            if (entity instanceof Tickable) {
-                tickableEntities.remove(entity);
+            if (entity instanceof Tickable tickable && tickableEntities.remove(tickable)) {
+                setAwake(tickable, false);
             }
             return true;
         }
@@ -159,7 +177,68 @@ public class EntityCache {
         bossBars.values().forEach(BossBar::updateBossBar);
     }
 
-    public List<Tickable> getTickableEntities() {
-        return tickableEntities;
+    /**
+     * Ticks every awake entity.
+     *
+     * @return the amount of entities that were ticked
+     */
+    public int tickEntities() {
+        int ticked = 0;
+        ticking = true;
+        try {
+            for (Tickable entity : awakeTickableEntities) {
+                if (!pendingTickableChanges.isEmpty() && !pendingTickableChanges.getOrDefault(entity, Boolean.TRUE)) {
+                    // Put to sleep or removed by an entity ticked before this one
+                    continue;
+                }
+                entity.tick();
+                ticked++;
+            }
+        } finally {
+            ticking = false;
+            for (Map.Entry<Tickable, Boolean> entry : pendingTickableChanges.entrySet()) {
+                setAwake(entry.getKey(), entry.getValue());
+            }
+            pendingTickableChanges.clear();
+        }
+        return lastTickedEntities = ticked;
+    }
+
+    /**
+     * Resumes ticking an entity that was previously put to sleep. Does nothing if the entity has not been spawned.
+     */
+    public void wakeUp(Tickable entity) {
+        if (tickableEntities.contains(entity)) {
+            setAwake(entity, true);
+        }
+    }
+
+    /**
+     * Stops ticking an entity until it is woken up again with {@link #wakeUp(Tickable)}.
+     * Safe to call from within {@link Tickable#tick()}.
+     */
+    public void sleep(Tickable entity) {
+        setAwake(entity, false);
+    }
+
+    public boolean isAwake(Tickable entity) {
+        return awakeTickableEntities.contains(entity);
+    }
+
+    /**
+     * @return the amount of spawned entities that can be ticked, awake or not
+     */
+    public int getTickableEntityCount() {
+        return tickableEntities.size();
+    }
+
+    private void setAwake(Tickable entity, boolean awake) {
+        if (ticking) {
+            pendingTickableChanges.put(entity, awake);
+        } else if (awake) {
+            awakeTickableEntities.add(entity);
+        } else {
+            awakeTickableEntities.remove(entity);
+        }
     }
 }
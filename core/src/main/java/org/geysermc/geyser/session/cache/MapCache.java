@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.github.steveice10.mc.protocol.data.game.level.map.MapData;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.cloudburstmc.protocol.bedrock.data.MapDecoration;
+import org.cloudburstmc.protocol.bedrock.data.MapTrackedObject;
+import org.cloudburstmc.protocol.bedrock.packet.ClientboundMapItemDataPacket;
+import org.geysermc.geyser.level.MapCanvas;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Keeps the merged image of every map this session has received, so it can be sent again when the
+ * Bedrock client asks for it with a MapInfoRequestPacket. The images themselves are shared between sessions.
+ */
+public class MapCache {
+    private final Long2ObjectMap<StoredMap> maps = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Merges a map update into the stored map.
+     *
+     * @param packet the translated update, for everything apart from the image
+     * @param data the image update, if any
+     */
+    public synchronized void update(ClientboundMapItemDataPacket packet, @Nullable MapData data) {
+        long mapId = packet.getUniqueMapId();
+        StoredMap stored = this.maps.get(mapId);
+        MapCanvas canvas;
+        if (data != null) {
+            canvas = stored != null ? stored.canvas() : MapCanvas.acquireBlank();
+            canvas = canvas.update(data.getX(), data.getY(), data.getColumns(), data.getRows(), data.getData());
+        } else if (stored != null) {
+            canvas = stored.canvas();
+        } else {
+            // Nothing to show yet
+            return;
+        }
+
+        this.maps.put(mapId, new StoredMap(canvas, packet.getDimensionId(), packet.getScale(), packet.isLocked(),
+                packet.getTrackedObjects(), packet.getDecorations()));
+    }
+
+    /**
+     * @return the whole map, or null if this session has not received an image for this map
+     */
+    public synchronized @Nullable ClientboundMapItemDataPacket createMapInfo(long mapId) {
+        StoredMap stored = this.maps.get(mapId);
+        if (stored == null) {
+            return null;
+        }
+
+        ClientboundMapItemDataPacket packet = new ClientboundMapItemDataPacket();
+        packet.setUniqueMapId(mapId);
+        packet.setDimensionId(stored.dimensionId());
+        packet.setLocked(stored.locked());
+        packet.setOrigin(Vector3i.ZERO); // Required since 1.19.20
+        packet.setScale(stored.scale());
+        // Required as of 1.19.50
+        packet.getTrackedEntityIds().add(mapId);
+        packet.getTrackedObjects().addAll(stored.trackedObjects());
+        packet.getDecorations().addAll(stored.decorations());
+        packet.setWidth(MapCanvas.SIZE);
+        packet.setHeight(MapCanvas.SIZE);
+        packet.setColors(stored.canvas().toARGB());
+        return packet;
+    }
+
+    /**
+     * Releases every image held by this session.
+     */
+    public synchronized void clear() {
+        for (StoredMap stored : this.maps.values()) {
+            stored.canvas().release();
+        }
+        this.maps.clear();
+    }
+
+    private record StoredMap(MapCanvas canvas, int dimensionId, int scale, boolean locked,
+                             List<MapTrackedObject> trackedObjects, List<MapDecoration> decorations) {
+    }
+}
@@ -29,7 +29,9 @@ import org.cloudburstmc.math.vector.Vector3d;
 import org.cloudburstmc.math.vector.Vector3f;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.protocol.bedrock.packet.SetEntityMotionPacket;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
@@ -38,8 +40,9 @@ import org.geysermc.geyser.level.physics.Axis;
 import org.geysermc.geyser.level.physics.BoundingBox;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.translator.level.block.entity.PistonBlockEntity;
+import org.geysermc.geyser.util.MathUtils;
 
-import java.util.Map;
+import java.util.function.Function;
 
 @Getter
 public class PistonCache {
@@ -47,15 +50,27 @@ public class PistonCache {
     private final GeyserSession session;
 
     /**
-     * Maps the position of a piston to its block entity
+     * Maps the packed position of a piston to its block entity
      */
-    private final Map<Vector3i, PistonBlockEntity> pistons = new Object2ObjectOpenHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Long2ObjectMap<PistonBlockEntity> pistons = new Long2ObjectOpenHashMap<>();
 
     /**
-     * Maps the position of a moving block to the piston moving it
+     * Maps the packed position of a moving block to the piston moving it
      * Positions in this map represent the starting position of the block
      */
-    private final Map<Vector3i, PistonBlockEntity> movingBlocksMap = new Object2ObjectOpenHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Long2ObjectMap<PistonBlockEntity> movingBlocksMap = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * The bounds of every position in {@link #movingBlocksMap}, so collision checks away from any moving block
+     * can be rejected without a lookup. Only ever grows while blocks are added, and is recalculated lazily once
+     * blocks have been removed.
+     */
+    @Getter(AccessLevel.NONE)
+    private int minMovingX, minMovingY, minMovingZ, maxMovingX, maxMovingY, maxMovingZ;
+    @Getter(AccessLevel.NONE)
+    private boolean movingBoundsDirty = false;
 
     private Vector3d playerDisplacement = Vector3d.ZERO;
 
@@ -86,6 +101,7 @@ public class PistonCache {
 
     public PistonCache(GeyserSession session) {
         this.session = session;
+        resetMovingBounds();
     }
 
     public void tick() {
@@ -97,12 +113,12 @@ public class PistonCache {
             // Update blocks after movement, so that players don't get stuck inside blocks
             pistons.values().forEach(PistonBlockEntity::updateBlocks);
 
-            pistons.entrySet().removeIf((entry) -> entry.getValue().canBeRemoved());
+            pistons.values().removeIf(PistonBlockEntity::canBeRemoved);
 
             if (pistons.isEmpty() && !movingBlocksMap.isEmpty()) {
                 session.getGeyser().getLogger().error("The moving block map has de-synced!");
-                for (Map.Entry<Vector3i, PistonBlockEntity> entry : movingBlocksMap.entrySet()) {
-                    session.getGeyser().getLogger().error("Moving Block at " + entry.getKey() + " was previously owned by the piston at " + entry.getValue().getPosition());
+                for (Long2ObjectMap.Entry<PistonBlockEntity> entry : movingBlocksMap.long2ObjectEntrySet()) {
+                    session.getGeyser().getLogger().error("Moving Block at " + MathUtils.blockPositionFromLong(entry.getLongKey()) + " was previously owned by the piston at " + entry.getValue().getPosition());
                 }
             }
         }
@@ -157,6 +173,55 @@ public class PistonCache {
         playerDisplacement = totalDisplacement;
     }
 
+    /**
+     * @return whether any piston is currently tracked
+     */
+    public boolean hasPistons() {
+        return !pistons.isEmpty();
+    }
+
+    /**
+     * Returns the piston at the given position, creating it if it isn't tracked yet.
+     *
+     * @param position the position of the piston
+     * @param factory creates the piston if it isn't tracked yet
+     * @return the piston at the given position
+     */
+    public PistonBlockEntity computePistonIfAbsent(Vector3i position, Function<Vector3i, PistonBlockEntity> factory) {
+        long key = MathUtils.blockPositionToLong(position.getX(), position.getY(), position.getZ());
+        PistonBlockEntity piston = pistons.get(key);
+        if (piston == null) {
+            piston = factory.apply(position);
+            pistons.put(key, piston);
+        }
+        return piston;
+    }
+
+    /**
+     * Marks a block as being moved by a piston.
+     *
+     * @param position the starting position of the block
+     * @param piston the piston moving it
+     */
+    public void addMovingBlock(Vector3i position, PistonBlockEntity piston) {
+        int x = position.getX();
+        int y = position.getY();
+        int z = position.getZ();
+        movingBlocksMap.put(MathUtils.blockPositionToLong(x, y, z), piston);
+        if (!movingBoundsDirty) {
+            expandMovingBounds(x, y, z);
+        }
+    }
+
+    /**
+     * @param position the starting position of a block that is no longer being moved
+     */
+    public void removeMovingBlock(Vector3i position) {
+        if (movingBlocksMap.remove(MathUtils.blockPositionToLong(position.getX(), position.getY(), position.getZ())) != null) {
+            movingBoundsDirty = true;
+        }
+    }
+
     /**
      * @param blockPos The block position to test
      * @param boundingBox The bounding box that moves
@@ -165,23 +230,69 @@ public class PistonCache {
      * @return The new maximum distance the bounding box can travel without colliding with the tested moving block
      */
     public double computeCollisionOffset(Vector3i blockPos, BoundingBox boundingBox, Axis axis, double offset) {
-        PistonBlockEntity piston = movingBlocksMap.get(blockPos);
+        return computeCollisionOffset(blockPos.getX(), blockPos.getY(), blockPos.getZ(), boundingBox, axis, offset);
+    }
+
+    /**
+     * @see #computeCollisionOffset(Vector3i, BoundingBox, Axis, double)
+     */
+    public double computeCollisionOffset(int x, int y, int z, BoundingBox boundingBox, Axis axis, double offset) {
+        PistonBlockEntity piston = getMovingBlock(x, y, z);
         if (piston != null) {
-            return piston.computeCollisionOffset(blockPos, boundingBox, axis, offset);
+            return piston.computeCollisionOffset(Vector3i.from(x, y, z), boundingBox, axis, offset);
         }
         return offset;
     }
 
     public boolean checkCollision(Vector3i blockPos, BoundingBox boundingBox) {
-        PistonBlockEntity piston = movingBlocksMap.get(blockPos);
+        PistonBlockEntity piston = getMovingBlock(blockPos.getX(), blockPos.getY(), blockPos.getZ());
         if (piston != null) {
             return piston.checkCollision(blockPos, boundingBox);
         }
         return false;
     }
 
+    private PistonBlockEntity getMovingBlock(int x, int y, int z) {
+        if (movingBlocksMap.isEmpty()) {
+            return null;
+        }
+        if (movingBoundsDirty) {
+            recalculateMovingBounds();
+        }
+        if (x < minMovingX || x > maxMovingX || y < minMovingY || y > maxMovingY || z < minMovingZ || z > maxMovingZ) {
+            return null;
+        }
+        return movingBlocksMap.get(MathUtils.blockPositionToLong(x, y, z));
+    }
+
+    private void recalculateMovingBounds() {
+        resetMovingBounds();
+        LongIterator iterator = movingBlocksMap.keySet().iterator();
+        while (iterator.hasNext()) {
+            long position = iterator.nextLong();
+            expandMovingBounds((int) (position >> 38), (int) (position << 52 >> 52), (int) (position << 26 >> 38));
+        }
+        movingBoundsDirty = false;
+    }
+
+    private void expandMovingBounds(int x, int y, int z) {
+        minMovingX = Math.min(minMovingX, x);
+        minMovingY = Math.min(minMovingY, y);
+        minMovingZ = Math.min(minMovingZ, z);
+        maxMovingX = Math.max(maxMovingX, x);
+        maxMovingY = Math.max(maxMovingY, y);
+        maxMovingZ = Math.max(maxMovingZ, z);
+    }
+
+    private void resetMovingBounds() {
+        minMovingX = minMovingY = minMovingZ = Integer.MAX_VALUE;
+        maxMovingX = maxMovingY = maxMovingZ = Integer.MIN_VALUE;
+    }
+
     public void clear() {
         pistons.clear();
         movingBlocksMap.clear();
+        resetMovingBounds();
+        movingBoundsDirty = false;
     }
 }
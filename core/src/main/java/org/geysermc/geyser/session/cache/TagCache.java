@@ -26,44 +26,45 @@
 package org.geysermc.geyser.session.cache;
 
 import com.github.steveice10.mc.protocol.packet.ingame.clientbound.ClientboundUpdateTagsPacket;
-import it.unimi.dsi.fastutil.ints.IntList;
-import it.unimi.dsi.fastutil.ints.IntLists;
 import org.geysermc.geyser.GeyserLogger;
 import org.geysermc.geyser.inventory.GeyserItemStack;
 import org.geysermc.geyser.item.type.Item;
 import org.geysermc.geyser.registry.type.BlockMapping;
 import org.geysermc.geyser.session.GeyserSession;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.Map;
 
 /**
  * Manages information sent from the {@link ClientboundUpdateTagsPacket}. If that packet is not sent, all lists here
  * will remain empty, matching Java Edition behavior.
+ * <p>
+ * Tags are stored as {@link TagSet}s, which are shared between sessions that received the same tags.
  */
 @ParametersAreNonnullByDefault
 public class TagCache {
     /* Blocks */
-    private IntList leaves;
-    private IntList wool;
+    private TagSet leaves;
+    private TagSet wool;
 
-    private IntList axeEffective;
-    private IntList hoeEffective;
-    private IntList pickaxeEffective;
-    private IntList shovelEffective;
+    private TagSet axeEffective;
+    private TagSet hoeEffective;
+    private TagSet pickaxeEffective;
+    private TagSet shovelEffective;
 
-    private IntList requiresStoneTool;
-    private IntList requiresIronTool;
-    private IntList requiresDiamondTool;
+    private TagSet requiresStoneTool;
+    private TagSet requiresIronTool;
+    private TagSet requiresDiamondTool;
 
     /* Items */
-    private IntList axolotlTemptItems;
-    private IntList creeperIgniters;
-    private IntList fishes;
-    private IntList flowers;
-    private IntList foxFood;
-    private IntList piglinLoved;
-    private IntList smallFlowers;
+    private TagSet axolotlTemptItems;
+    private TagSet creeperIgniters;
+    private TagSet fishes;
+    private TagSet flowers;
+    private TagSet foxFood;
+    private TagSet piglinLoved;
+    private TagSet smallFlowers;
 
     public TagCache() {
         // Ensure all lists are non-null
@@ -72,17 +73,17 @@ public class TagCache {
 
     public void loadPacket(GeyserSession session, ClientboundUpdateTagsPacket packet) {
         Map<String, int[]> blockTags = packet.getTags().get("minecraft:block");
-        this.leaves = IntList.of(blockTags.get("minecraft:leaves"));
-        this.wool = IntList.of(blockTags.get("minecraft:wool"));
+        this.leaves = load(blockTags.get("minecraft:leaves"));
+        this.wool = load(blockTags.get("minecraft:wool"));
 
-        this.axeEffective = IntList.of(blockTags.get("minecraft:mineable/axe"));
-        this.hoeEffective = IntList.of(blockTags.get("minecraft:mineable/hoe"));
-        this.pickaxeEffective = IntList.of(blockTags.get("minecraft:mineable/pickaxe"));
-        this.shovelEffective = IntList.of(blockTags.get("minecraft:mineable/shovel"));
+        this.axeEffective = load(blockTags.get("minecraft:mineable/axe"));
+        this.hoeEffective = load(blockTags.get("minecraft:mineable/hoe"));
+        this.pickaxeEffective = load(blockTags.get("minecraft:mineable/pickaxe"));
+        this.shovelEffective = load(blockTags.get("minecraft:mineable/shovel"));
 
-        this.requiresStoneTool = IntList.of(blockTags.get("minecraft:needs_stone_tool"));
-        this.requiresIronTool = IntList.of(blockTags.get("minecraft:needs_iron_tool"));
-        this.requiresDiamondTool = IntList.of(blockTags.get("minecraft:needs_diamond_tool"));
+        this.requiresStoneTool = load(blockTags.get("minecraft:needs_stone_tool"));
+        this.requiresIronTool = load(blockTags.get("minecraft:needs_iron_tool"));
+        this.requiresDiamondTool = load(blockTags.get("minecraft:needs_diamond_tool"));
 
         // Hack btw
         GeyserLogger logger = session.getGeyser().getLogger();
@@ -94,13 +95,13 @@ public class TagCache {
         }
 
         Map<String, int[]> itemTags = packet.getTags().get("minecraft:item");
-        this.axolotlTemptItems = IntList.of(itemTags.get("minecraft:axolotl_tempt_items"));
+        this.axolotlTemptItems = load(itemTags.get("minecraft:axolotl_tempt_items"));
         this.creeperIgniters = load(itemTags.get("minecraft:creeper_igniters"));
-        this.fishes = IntList.of(itemTags.get("minecraft:fishes"));
-        this.flowers = IntList.of(itemTags.get("minecraft:flowers"));
-        this.foxFood = IntList.of(itemTags.get("minecraft:fox_food"));
-        this.piglinLoved = IntList.of(itemTags.get("minecraft:piglin_loved"));
-        this.smallFlowers = IntList.of(itemTags.get("minecraft:small_flowers"));
+        this.fishes = load(itemTags.get("minecraft:fishes"));
+        this.flowers = load(itemTags.get("minecraft:flowers"));
+        this.foxFood = load(itemTags.get("minecraft:fox_food"));
+        this.piglinLoved = load(itemTags.get("minecraft:piglin_loved"));
+        this.smallFlowers = load(itemTags.get("minecraft:small_flowers"));
 
         // Hack btw
         boolean emulatePost1_13Logic = itemTags.get("minecraft:signs").length > 1;
@@ -110,33 +111,30 @@ public class TagCache {
         }
     }
 
-    private IntList load(int[] tags) {
-        if (tags == null) {
-            return IntLists.EMPTY_LIST;
-        }
-        return IntList.of(tags);
+    private TagSet load(@Nullable int[] tags) {
+        return TagSet.of(tags);
     }
 
     public void clear() {
-        this.leaves = IntLists.emptyList();
-        this.wool = IntLists.emptyList();
-
-        this.axeEffective = IntLists.emptyList();
-        this.hoeEffective = IntLists.emptyList();
-        this.pickaxeEffective = IntLists.emptyList();
-        this.shovelEffective = IntLists.emptyList();
-
-        this.requiresStoneTool = IntLists.emptyList();
-        this.requiresIronTool = IntLists.emptyList();
-        this.requiresDiamondTool = IntLists.emptyList();
-
-        this.axolotlTemptItems = IntLists.emptyList();
-        this.creeperIgniters = IntLists.emptyList();
-        this.fishes = IntLists.emptyList();
-        this.flowers = IntLists.emptyList();
-        this.foxFood = IntLists.emptyList();
-        this.piglinLoved = IntLists.emptyList();
-        this.smallFlowers = IntLists.emptyList();
+        this.leaves = TagSet.EMPTY;
+        this.wool = TagSet.EMPTY;
+
+        this.axeEffective = TagSet.EMPTY;
+        this.hoeEffective = TagSet.EMPTY;
+        this.pickaxeEffective = TagSet.EMPTY;
+        this.shovelEffective = TagSet.EMPTY;
+
+        this.requiresStoneTool = TagSet.EMPTY;
+        this.requiresIronTool = TagSet.EMPTY;
+        this.requiresDiamondTool = TagSet.EMPTY;
+
+        this.axolotlTemptItems = TagSet.EMPTY;
+        this.creeperIgniters = TagSet.EMPTY;
+        this.fishes = TagSet.EMPTY;
+        this.flowers = TagSet.EMPTY;
+        this.foxFood = TagSet.EMPTY;
+        this.piglinLoved = TagSet.EMPTY;
+        this.smallFlowers = TagSet.EMPTY;
     }
 
     public boolean isAxolotlTemptItem(Item item) {
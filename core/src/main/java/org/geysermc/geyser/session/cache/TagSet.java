@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * An immutable set of registry IDs that are part of a tag, stored as a bitset so membership checks are constant-time.
+ * Sets are interned, so sessions that received the same tags share one instance.
+ */
+final class TagSet {
+    static final TagSet EMPTY = new TagSet(new long[0]);
+
+    private static final Interner<TagSet> INTERNER = Interners.newWeakInterner();
+
+    private final long[] words;
+    private final int hashCode;
+
+    private TagSet(long[] words) {
+        this.words = words;
+        this.hashCode = Arrays.hashCode(words);
+    }
+
+    static TagSet of(@Nullable int[] ids) {
+        if (ids == null || ids.length == 0) {
+            return EMPTY;
+        }
+
+        int max = 0;
+        for (int id : ids) {
+            max = Math.max(max, id);
+        }
+        long[] words = new long[(max >> 6) + 1];
+        for (int id : ids) {
+            if (id >= 0) {
+                words[id >> 6] |= 1L << id;
+            }
+        }
+        return INTERNER.intern(new TagSet(words));
+    }
+
+    boolean contains(int id) {
+        if (id < 0) {
+            return false;
+        }
+        int index = id >> 6;
+        return index < words.length && (words[index] & (1L << id)) != 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof TagSet other && hashCode == other.hashCode && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
@@ -31,6 +31,7 @@ import org.cloudburstmc.math.vector.Vector3f;
 import org.cloudburstmc.protocol.bedrock.data.LevelEvent;
 import org.cloudburstmc.protocol.bedrock.data.LevelEventType;
 import org.cloudburstmc.protocol.bedrock.packet.LevelEventPacket;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import lombok.Getter;
 import lombok.Setter;
 import org.geysermc.geyser.entity.EntityDefinitions;
@@ -38,6 +39,7 @@ import org.geysermc.geyser.entity.type.player.PlayerEntity;
 import org.geysermc.geyser.session.GeyserSession;
 
 import javax.annotation.Nonnull;
+import java.util.List;
 
 public class WorldBorder {
     private static final double DEFAULT_WORLD_BORDER_SIZE = 5.9999968E7D;
@@ -108,6 +110,17 @@ public class WorldBorder {
      */
     private int currentWallTick;
 
+    /**
+     * The particles of the last wall drawn. These are only rebuilt when the player moves to another block,
+     * a different side of the border needs to be drawn, or the border changes.
+     */
+    private LevelEventPacket[] wallParticles = new LevelEventPacket[0];
+    private int wallMask;
+    private int wallBlockX;
+    private int wallBlockY;
+    private int wallBlockZ;
+    private boolean wallDirty = true;
+
     /**
      * If the world border is resizing, this variable saves how many ticks have progressed in the resizing
      */
@@ -222,6 +235,8 @@ public class WorldBorder {
         this.warningMinZ = this.minZ + this.warningBlocks;
         this.warningMaxX = this.maxX - this.warningBlocks;
         this.warningMaxZ = this.maxZ - this.warningBlocks;
+
+        this.wallDirty = true;
     }
 
     public void resize() {
@@ -245,6 +260,11 @@ public class WorldBorder {
 
     private static final LevelEventType WORLD_BORDER_PARTICLE = LevelEvent.PARTICLE_DENY_BLOCK;
 
+    private static final int WALL_MAX_X = 1;
+    private static final int WALL_MIN_X = 1 << 1;
+    private static final int WALL_MAX_Z = 1 << 2;
+    private static final int WALL_MIN_Z = 1 << 3;
+
     /**
      * Draws a wall of particles where the world border resides
      */
@@ -255,59 +275,91 @@ public class WorldBorder {
         }
         currentWallTick = 0;
         Vector3f entityPosition = session.getPlayerEntity().getPosition();
-        float particlePosX = entityPosition.getX();
-        float particlePosY = entityPosition.getY();
-        float particlePosZ = entityPosition.getZ();
 
+        int walls = 0;
         if (entityPosition.getX() > Math.min(warningMaxX, maxX - CLOSE_TO_BORDER)) {
-            drawWall(Vector3f.from(maxX, particlePosY, particlePosZ), true);
+            walls |= WALL_MAX_X;
         }
         if (entityPosition.getX() < Math.max(warningMinX, minX + CLOSE_TO_BORDER)) {
-            drawWall(Vector3f.from(minX, particlePosY, particlePosZ), true);
+            walls |= WALL_MIN_X;
         }
         if (entityPosition.getZ() > Math.min(warningMaxZ, maxZ - CLOSE_TO_BORDER)) {
-            drawWall(Vector3f.from(particlePosX, particlePosY, maxZ), false);
+            walls |= WALL_MAX_Z;
         }
         if (entityPosition.getZ() < Math.max(warningMinZ, minZ + CLOSE_TO_BORDER)) {
-            drawWall(Vector3f.from(particlePosX, particlePosY, minZ), false);
+            walls |= WALL_MIN_Z;
+        }
+
+        // The wall only changes if the player moves to another block or the border itself changes
+        int blockX = (int) entityPosition.getX();
+        int blockY = (int) (entityPosition.getY() - EntityDefinitions.PLAYER.offset() - 1);
+        int blockZ = (int) entityPosition.getZ();
+        if (wallDirty || walls != wallMask || blockX != wallBlockX || blockY != wallBlockY || blockZ != wallBlockZ) {
+            buildWallParticles(walls, blockX, blockY, blockZ);
+        }
+
+        for (LevelEventPacket particle : wallParticles) {
+            session.getUpstream().sendPacket(particle);
         }
     }
 
-    private void drawWall(Vector3f position, boolean drawWallX) {
-        int initialY = (int) (position.getY() - EntityDefinitions.PLAYER.offset() - 1);
+    private void buildWallParticles(int walls, int blockX, int blockY, int blockZ) {
+        List<LevelEventPacket> particles = new ObjectArrayList<>();
+        if ((walls & WALL_MAX_X) != 0) {
+            addWallXParticles(particles, (float) maxX, blockY, blockZ);
+        }
+        if ((walls & WALL_MIN_X) != 0) {
+            addWallXParticles(particles, (float) minX, blockY, blockZ);
+        }
+        if ((walls & WALL_MAX_Z) != 0) {
+            addWallZParticles(particles, (float) maxZ, blockY, blockX);
+        }
+        if ((walls & WALL_MIN_Z) != 0) {
+            addWallZParticles(particles, (float) minZ, blockY, blockX);
+        }
+
+        this.wallParticles = particles.toArray(new LevelEventPacket[0]);
+        this.wallMask = walls;
+        this.wallBlockX = blockX;
+        this.wallBlockY = blockY;
+        this.wallBlockZ = blockZ;
+        this.wallDirty = false;
+    }
+
+    private void addWallXParticles(List<LevelEventPacket> particles, float x, int initialY, int blockZ) {
+        for (int y = initialY; y < (initialY + 5); y++) {
+            for (int z = blockZ - 3; z < (blockZ + 3); z++) {
+                if (z < minZ) {
+                    continue;
+                }
+                if (z > maxZ) {
+                    break;
+                }
+
+                particles.add(createWorldBorderParticle(x, y, z));
+            }
+        }
+    }
+
+    private void addWallZParticles(List<LevelEventPacket> particles, float z, int initialY, int blockX) {
         for (int y = initialY; y < (initialY + 5); y++) {
-            if (drawWallX) {
-                float x = position.getX();
-                for (int z = (int) position.getZ() - 3; z < ((int) position.getZ() + 3); z++) {
-                    if (z < minZ) {
-                        continue;
-                    }
-                    if (z > maxZ) {
-                        break;
-                    }
-
-                    sendWorldBorderParticle(x, y, z);
+            for (int x = blockX - 3; x < (blockX + 3); x++) {
+                if (x < minX) {
+                    continue;
                 }
-            } else {
-                float z = position.getZ();
-                for (int x = (int) position.getX() - 3; x < ((int) position.getX() + 3); x++) {
-                    if (x < minX) {
-                        continue;
-                    }
-                    if (x > maxX) {
-                        break;
-                    }
-
-                    sendWorldBorderParticle(x, y, z);
+                if (x > maxX) {
+                    break;
                 }
+
+                particles.add(createWorldBorderParticle(x, y, z));
             }
         }
     }
 
-    private void sendWorldBorderParticle(float x, float y, float z) {
+    private static LevelEventPacket createWorldBorderParticle(float x, float y, float z) {
         LevelEventPacket effectPacket = new LevelEventPacket();
         effectPacket.setPosition(Vector3f.from(x, y, z));
         effectPacket.setType(WORLD_BORDER_PARTICLE);
-        session.getUpstream().sendPacket(effectPacket);
+        return effectPacket;
     }
 }
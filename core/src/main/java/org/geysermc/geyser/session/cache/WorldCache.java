@@ -25,6 +25,7 @@
 
 package org.geysermc.geyser.session.cache;
 
+import com.github.steveice10.mc.protocol.data.game.level.block.BlockChangeEntry;
 import com.github.steveice10.mc.protocol.data.game.setting.Difficulty;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMaps;
@@ -164,6 +165,21 @@ public final class WorldCache {
         ChunkUtils.updateBlock(session, blockState, position);
     }
 
+    /**
+     * Updates every block of a Java section update at once.
+     *
+     * @see ChunkUtils#updateBlocks(GeyserSession, int, int, int, BlockChangeEntry[])
+     */
+    public void updateServerCorrectBlockStates(int chunkX, int chunkY, int chunkZ, BlockChangeEntry[] entries) {
+        if (!this.unverifiedPredictions.isEmpty()) {
+            for (BlockChangeEntry entry : entries) {
+                this.unverifiedPredictions.removeInt(entry.getPosition());
+            }
+        }
+
+        ChunkUtils.updateBlocks(session, chunkX, chunkY, chunkZ, entries);
+    }
+
     public void endPredictionsUpTo(int sequence) {
         if (this.unverifiedPredictions.isEmpty()) {
             return;
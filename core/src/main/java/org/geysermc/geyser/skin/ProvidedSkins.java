@@ -25,6 +25,7 @@
 
 package org.geysermc.geyser.skin;
 
+import org.cloudburstmc.protocol.bedrock.data.skin.SerializedSkin;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.util.AssetUtils;
 
@@ -70,6 +71,10 @@ public final class ProvidedSkins {
     public static final class ProvidedSkin {
         private SkinProvider.Skin data;
         private final boolean slim;
+        /**
+         * This skin as sent to Bedrock, shared by every player list entry that uses it.
+         */
+        private volatile SerializedSkin serializedSkin;
 
         ProvidedSkin(String asset, boolean slim) {
             this.slim = slim;
@@ -110,6 +115,20 @@ public final class ProvidedSkins {
         public boolean isSlim() {
             return slim;
         }
+
+        public SerializedSkin getSerializedSkin() {
+            SerializedSkin serializedSkin = this.serializedSkin;
+            if (serializedSkin == null) {
+                SkinProvider.Skin skin = getData();
+                serializedSkin = SkinManager.getSkin(skin.getTextureUrl(), skin, SkinProvider.EMPTY_CAPE,
+                        slim ? SkinProvider.SkinGeometry.SLIM : SkinProvider.SkinGeometry.WIDE);
+                if (this.data != null) {
+                    // Only keep it once the actual skin has loaded
+                    this.serializedSkin = serializedSkin;
+                }
+            }
+            return serializedSkin;
+        }
     }
 
     public static void init() {
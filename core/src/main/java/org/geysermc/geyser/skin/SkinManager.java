@@ -29,7 +29,6 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
 import com.github.steveice10.opennbt.tag.builtin.ListTag;
 import com.github.steveice10.opennbt.tag.builtin.StringTag;
-import org.cloudburstmc.protocol.bedrock.data.skin.ImageData;
 import org.cloudburstmc.protocol.bedrock.data.skin.SerializedSkin;
 import org.cloudburstmc.protocol.bedrock.packet.PlayerListPacket;
 import org.cloudburstmc.protocol.bedrock.packet.PlayerSkinPacket;
@@ -44,7 +43,6 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
-import java.util.Collections;
 import java.util.UUID;
 import java.util.function.Consumer;
 
@@ -54,6 +52,14 @@ public class SkinManager {
      * Builds a Bedrock player list entry from our existing, cached Bedrock skin information
      */
     public static PlayerListPacket.Entry buildCachedEntry(GeyserSession session, PlayerEntity playerEntity) {
+        if (session.getGeyser().getConfig().isLazyPlayerListSkins() && playerEntity != session.getPlayerEntity()
+                && session.getEntityCache().getEntityByGeyserId(playerEntity.getGeyserId()) == null) {
+            // This player isn't in view; their actual skin is sent by the SkinSendQueue once they are
+            ProvidedSkins.ProvidedSkin placeholder = ProvidedSkins.getDefaultPlayerSkin(playerEntity.getUuid());
+            return buildEntry(session, playerEntity.getUuid(), playerEntity.getUsername(), playerEntity.getGeyserId(),
+                    placeholder.getSerializedSkin());
+        }
+
         // First: see if we have the cached skin texture ID.
         GameProfileData data = GameProfileData.from(playerEntity);
         SkinProvider.Skin skin = null;
@@ -98,8 +104,11 @@ public class SkinManager {
                                                             SkinProvider.Skin skin,
                                                             SkinProvider.Cape cape,
                                                             SkinProvider.SkinGeometry geometry) {
-        SerializedSkin serializedSkin = getSkin(skin.getTextureUrl(), skin, cape, geometry);
+        return buildEntry(session, uuid, username, geyserId, getSkin(skin.getTextureUrl(), skin, cape, geometry));
+    }
 
+    private static PlayerListPacket.Entry buildEntry(GeyserSession session, UUID uuid, String username, long geyserId,
+                                                     SerializedSkin serializedSkin) {
         // This attempts to find the XUID of the player so profile images show up for Xbox accounts
         String xuid = "";
         GeyserSession playerSession = GeyserImpl.getInstance().connectionByUuid(uuid);
@@ -160,11 +169,8 @@ public class SkinManager {
         }
     }
 
-    private static SerializedSkin getSkin(String skinId, SkinProvider.Skin skin, SkinProvider.Cape cape, SkinProvider.SkinGeometry geometry) {
-        return SerializedSkin.of(skinId, "", geometry.geometryName(),
-                ImageData.of(skin.getSkinData()), Collections.emptyList(),
-                ImageData.of(cape.capeData()), geometry.geometryData(),
-                "", true, false, false, cape.capeId(), skinId);
+    static SerializedSkin getSkin(String skinId, SkinProvider.Skin skin, SkinProvider.Cape cape, SkinProvider.SkinGeometry geometry) {
+        return SkinPayloads.serializedSkin(skinId, skin, cape, geometry);
     }
 
     public static void requestAndHandleSkinAndCape(PlayerEntity entity, GeyserSession session,
@@ -179,7 +185,11 @@ public class SkinManager {
             }
 
             if (skinData.geometry() != null) {
-                sendSkinPacket(session, entity, skinData);
+                if (session.getGeyser().getConfig().isLazyPlayerListSkins() && entity != session.getPlayerEntity()) {
+                    session.getSkinSendQueue().queue(entity, skinData);
+                } else {
+                    sendSkinPacket(session, entity, skinData);
+                }
             }
 
             if (skinAndCapeConsumer != null) {
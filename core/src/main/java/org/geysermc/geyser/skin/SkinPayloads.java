@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.skin;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.cloudburstmc.protocol.bedrock.data.skin.ImageData;
+import org.cloudburstmc.protocol.bedrock.data.skin.SerializedSkin;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes sure identical skin data is only held in memory once, no matter how many players use it or how many
+ * sessions it is sent to.
+ */
+final class SkinPayloads {
+    private static final HashFunction IMAGE_HASH = Hashing.murmur3_128();
+    /**
+     * Skin and cape images by the hash of their contents. Images are dropped once no skin or cape uses them anymore.
+     */
+    private static final Cache<HashCode, byte[]> IMAGES = CacheBuilder.newBuilder()
+            .weakValues()
+            .build();
+    private static final Interner<SkinProvider.SkinGeometry> GEOMETRY = Interners.newWeakInterner();
+    /**
+     * Bedrock skins are immutable, so one can be shared by every session that the same skin, cape and geometry are sent to.
+     */
+    private static final Cache<SerializedSkinKey, SerializedSkin> SERIALIZED_SKINS = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private SkinPayloads() {
+    }
+
+    /**
+     * @return an image with the same contents that is already in use, or this image if there is none
+     */
+    static byte[] intern(byte[] image) {
+        if (image.length == 0) {
+            return image;
+        }
+
+        byte[] existing = IMAGES.asMap().putIfAbsent(IMAGE_HASH.hashBytes(image), image);
+        if (existing != null && Arrays.equals(existing, image)) {
+            return existing;
+        }
+        return image;
+    }
+
+    static SkinProvider.SkinGeometry intern(SkinProvider.SkinGeometry geometry) {
+        return GEOMETRY.intern(geometry);
+    }
+
+    static SerializedSkin serializedSkin(String skinId, SkinProvider.Skin skin, SkinProvider.Cape cape, SkinProvider.SkinGeometry geometry) {
+        return SERIALIZED_SKINS.asMap().computeIfAbsent(new SerializedSkinKey(skinId, skin, cape, geometry),
+                key -> SerializedSkin.of(skinId, "", geometry.geometryName(),
+                        ImageData.of(skin.getSkinData()), Collections.emptyList(),
+                        ImageData.of(cape.capeData()), geometry.geometryData(),
+                        "", true, false, false, cape.capeId(), skinId));
+    }
+
+    /**
+     * Skins are compared by identity, as the same skin is always the same cached instance.
+     */
+    private record SerializedSkinKey(String skinId, SkinProvider.Skin skin, SkinProvider.Cape cape, SkinProvider.SkinGeometry geometry) {
+    }
+}
@@ -80,7 +80,9 @@ public class SkinProvider {
     private static final Map<String, CompletableFuture<Cape>> requestedCapes = new ConcurrentHashMap<>();
     private static final Map<String, CompletableFuture<Skin>> requestedSkins = new ConcurrentHashMap<>();
 
-    private static final Map<UUID, SkinGeometry> cachedGeometry = new ConcurrentHashMap<>();
+    private static final Cache<UUID, SkinGeometry> CACHED_GEOMETRY = CacheBuilder.newBuilder()
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .build();
 
     /**
      * Citizens NPCs use UUID version 2, while legitimate Minecraft players use version 4, and
@@ -182,7 +184,7 @@ public class SkinProvider {
                 skin = CACHED_BEDROCK_SKINS.getIfPresent(skinId);
                 String capeId = session.getClientData().getCapeId();
                 cape = CACHED_BEDROCK_CAPES.getIfPresent(capeId);
-                geometry = cachedGeometry.getOrDefault(uuid, geometry);
+                geometry = Objects.requireNonNullElse(CACHED_GEOMETRY.getIfPresent(uuid), geometry);
             }
         }
 
@@ -425,18 +427,18 @@ public class SkinProvider {
     }
 
     static void storeBedrockSkin(UUID playerID, String skinId, byte[] skinData) {
-        Skin skin = new Skin(playerID, skinId, skinData, System.currentTimeMillis(), true, false);
+        Skin skin = new Skin(playerID, skinId, SkinPayloads.intern(skinData), System.currentTimeMillis(), true, false);
         CACHED_BEDROCK_SKINS.put(skin.getTextureUrl(), skin);
     }
 
     static void storeBedrockCape(String capeId, byte[] capeData) {
-        Cape cape = new Cape(capeId, capeId, capeData, System.currentTimeMillis(), false);
+        Cape cape = new Cape(capeId, capeId, SkinPayloads.intern(capeData), System.currentTimeMillis(), false);
         CACHED_BEDROCK_CAPES.put(capeId, cape);
     }
 
     static void storeBedrockGeometry(UUID playerID, byte[] geometryName, byte[] geometryData) {
         SkinGeometry geometry = new SkinGeometry(new String(geometryName), new String(geometryData), false);
-        cachedGeometry.put(playerID, geometry);
+        CACHED_GEOMETRY.put(playerID, SkinPayloads.intern(geometry));
     }
 
     /**
@@ -455,12 +457,12 @@ public class SkinProvider {
      * @param isSlim If the player is using an slim base
      */
     private static void storeEarGeometry(UUID playerID, boolean isSlim) {
-        cachedGeometry.put(playerID, SkinGeometry.getEars(isSlim));
+        CACHED_GEOMETRY.put(playerID, SkinPayloads.intern(SkinGeometry.getEars(isSlim)));
     }
 
     private static Skin supplySkin(UUID uuid, String textureUrl) {
         try {
-            byte[] skin = requestImage(textureUrl, null);
+            byte[] skin = SkinPayloads.intern(requestImage(textureUrl, null));
             return new Skin(uuid, textureUrl, skin, System.currentTimeMillis(), false, false);
         } catch (Exception ignored) {} // just ignore I guess
 
@@ -470,7 +472,7 @@ public class SkinProvider {
     private static Cape supplyCape(String capeUrl, CapeProvider provider) {
         byte[] cape = EMPTY_CAPE.capeData();
         try {
-            cape = requestImage(capeUrl, provider);
+            cape = SkinPayloads.intern(requestImage(capeUrl, provider));
         } catch (Exception ignored) {
         } // just ignore I guess
 
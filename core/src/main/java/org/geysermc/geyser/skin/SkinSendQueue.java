@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.skin;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import org.cloudburstmc.math.vector.Vector3f;
+import org.geysermc.geyser.entity.type.player.PlayerEntity;
+import org.geysermc.geyser.session.GeyserSession;
+
+/**
+ * Holds downloaded skins of other players and sends them nearest-first, a limited amount per tick.
+ * <p>
+ * Only used with lazy player list skins, where the player list carries a default skin and the actual skin is only
+ * requested once the player comes into view. Joining a crowded area would otherwise send every skin at once.
+ */
+public final class SkinSendQueue {
+    private static final int MAX_SKINS_PER_TICK = 4;
+
+    private final GeyserSession session;
+    private final Object2ObjectLinkedOpenHashMap<PlayerEntity, SkinProvider.SkinData> queue = new Object2ObjectLinkedOpenHashMap<>();
+
+    public SkinSendQueue(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Queues a skin to be sent, replacing any skin for this player that has not been sent yet. Can be called from any thread.
+     */
+    public void queue(PlayerEntity entity, SkinProvider.SkinData skinData) {
+        session.ensureInEventLoop(() -> queue.put(entity, skinData));
+    }
+
+    /**
+     * Sends the skins of the nearest players.
+     */
+    public void tick() {
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        Vector3f center = session.getPlayerEntity().getPosition();
+        for (int i = 0; i < MAX_SKINS_PER_TICK && !queue.isEmpty(); i++) {
+            PlayerEntity nearest = null;
+            float nearestDistance = 0;
+            for (PlayerEntity entity : queue.keySet()) {
+                float distance = entity.getPosition().distanceSquared(center);
+                if (nearest == null || distance < nearestDistance) {
+                    nearest = entity;
+                    nearestDistance = distance;
+                }
+            }
+
+            SkinProvider.SkinData skinData = queue.remove(nearest);
+            if (session.getEntityCache().getPlayerEntity(nearest.getUuid()) == nearest) {
+                // Otherwise, the player has left since
+                SkinManager.sendSkinPacket(session, nearest, skinData);
+            }
+        }
+    }
+
+    /**
+     * Forgets every skin that has not been sent yet, for example because the player changed dimensions.
+     */
+    public void clear() {
+        queue.clear();
+    }
+}
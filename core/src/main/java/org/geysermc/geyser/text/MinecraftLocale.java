@@ -26,6 +26,9 @@
 package org.geysermc.geyser.text;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.util.AssetUtils;
 import org.geysermc.geyser.util.FileUtils;
@@ -34,14 +37,39 @@ import org.geysermc.geyser.util.WebUtils;
 import javax.annotation.Nullable;
 import java.io.*;
 import java.nio.file.Files;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 public class MinecraftLocale {
 
-    public static final Map<String, Map<String, String>> LOCALE_MAPPINGS = new HashMap<>();
+    /**
+     * All loaded locales, keyed by lowercase Bedrock locale code. Lookups with other casings are added as aliases
+     * on first use. Tables are immutable once published here, so they can be read from any thread.
+     */
+    private static final Map<String, LocaleTable> LOCALE_MAPPINGS = new ConcurrentHashMap<>();
+    /**
+     * Locales that are being, or have been successfully, downloaded and loaded. Ensures every locale is only
+     * loaded once, no matter how many players request it at the same time.
+     */
+    private static final Map<String, CompletableFuture<Void>> LOADING_LOCALES = new ConcurrentHashMap<>();
+    /**
+     * Downloads and parses locales. Kept off of the shared scheduled thread, as a slow download would otherwise
+     * hold up every other task scheduled on it.
+     */
+    private static final ExecutorService LOCALE_EXECUTOR = Executors.newFixedThreadPool(2, new DefaultThreadFactory("Geyser Locale Loader", true));
+
+    /**
+     * The position of every translation key in each {@link LocaleTable}'s values. Shared by all locales, as they
+     * almost entirely have the same keys. Only ever replaced with a copy that has more keys, never modified.
+     */
+    private static volatile Object2IntMap<String> KEY_INDEX = newKeyIndex(0);
 
     static {
         // Create the locales folder
@@ -68,12 +96,51 @@ public class MinecraftLocale {
     }
 
     /**
-     * Downloads a locale from Mojang if its not already loaded
+     * Downloads a locale from Mojang if its not already loaded. This happens in the background; until it is done,
+     * translations for this locale fall back to the default locale.
      *
      * @param locale Locale to download and load
+     * @return a future completed once the locale has been loaded, or failed to load
      */
-    public static void downloadAndLoadLocale(String locale) {
-        locale = locale.toLowerCase(Locale.ROOT);
+    public static CompletableFuture<Void> downloadAndLoadLocale(String locale) {
+        String lowercaseLocale = locale.toLowerCase(Locale.ROOT);
+        if (LOCALE_MAPPINGS.containsKey(lowercaseLocale)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> created = new CompletableFuture<>();
+        CompletableFuture<Void> future = LOADING_LOCALES.putIfAbsent(lowercaseLocale, created);
+        if (future != null) {
+            return future;
+        }
+
+        // Only start loading once the future is in the map, so completing it can always remove it again
+        created.whenComplete((aVoid, throwable) -> {
+            if (throwable != null) {
+                GeyserImpl.getInstance().getLogger().error("Unable to load locale " + lowercaseLocale, throwable);
+            }
+            if (!LOCALE_MAPPINGS.containsKey(lowercaseLocale)) {
+                // Allow trying again later
+                LOADING_LOCALES.remove(lowercaseLocale, created);
+            }
+        });
+        try {
+            LOCALE_EXECUTOR.execute(() -> {
+                try {
+                    downloadAndLoadLocale0(lowercaseLocale);
+                    created.complete(null);
+                } catch (Throwable t) {
+                    created.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Geyser is shutting down
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    private static void downloadAndLoadLocale0(String locale) {
         if (locale.equals("nb_no")) {
             // Different locale code - https://minecraft.fandom.com/wiki/Language
             locale = "no_no";
@@ -97,6 +164,14 @@ public class MinecraftLocale {
         }
     }
 
+    /**
+     * @param locale the Bedrock locale code, in any casing
+     * @return if this locale has been loaded and can be used for translations
+     */
+    public static boolean isLocaleLoaded(String locale) {
+        return getTable(locale) != null;
+    }
+
     /**
      * Downloads the specified locale if its not already downloaded
      *
@@ -161,12 +236,7 @@ public class MinecraftLocale {
             }
 
             // Parse all the locale fields
-            Iterator<Map.Entry<String, JsonNode>> localeIterator = localeObj.fields();
-            Map<String, String> langMap = new HashMap<>();
-            while (localeIterator.hasNext()) {
-                Map.Entry<String, JsonNode> entry = localeIterator.next();
-                langMap.put(entry.getKey(), entry.getValue().asText());
-            }
+            LocaleTable table = buildTable(localeObj);
 
             String bedrockLocale = locale.toLowerCase(Locale.ROOT);
             if (bedrockLocale.equals("no_no")) {
@@ -175,7 +245,7 @@ public class MinecraftLocale {
             }
 
             // Insert the locale into the mappings
-            LOCALE_MAPPINGS.put(bedrockLocale, langMap);
+            LOCALE_MAPPINGS.put(bedrockLocale, table);
 
             try {
                 localeStream.close();
@@ -188,6 +258,72 @@ public class MinecraftLocale {
         }
     }
 
+    /**
+     * Builds an immutable table from a parsed locale file. Keys not seen in any earlier locale are added to the
+     * shared key index.
+     */
+    private static synchronized LocaleTable buildTable(JsonNode localeObj) {
+        Object2IntMap<String> keyIndex = KEY_INDEX;
+        Object2IntMap<String> newKeyIndex = null;
+
+        String[] values = new String[keyIndex.size() + localeObj.size()];
+        Iterator<Map.Entry<String, JsonNode>> localeIterator = localeObj.fields();
+        while (localeIterator.hasNext()) {
+            Map.Entry<String, JsonNode> entry = localeIterator.next();
+            int index = keyIndex.getInt(entry.getKey());
+            if (index == -1) {
+                if (newKeyIndex == null) {
+                    // Copy on write so lookups on other threads never see a partially updated index
+                    newKeyIndex = newKeyIndex(keyIndex.size() + localeObj.size());
+                    newKeyIndex.putAll(keyIndex);
+                    keyIndex = newKeyIndex;
+                }
+                index = keyIndex.size();
+                keyIndex.put(entry.getKey().intern(), index);
+            }
+            values[index] = entry.getValue().asText();
+        }
+
+        if (newKeyIndex != null) {
+            KEY_INDEX = newKeyIndex;
+        }
+        return new LocaleTable(values.length == keyIndex.size() ? values : Arrays.copyOf(values, keyIndex.size()));
+    }
+
+    private static Object2IntMap<String> newKeyIndex(int expected) {
+        Object2IntMap<String> keyIndex = new Object2IntOpenHashMap<>(expected);
+        keyIndex.defaultReturnValue(-1);
+        return keyIndex;
+    }
+
+    @Nullable
+    private static LocaleTable getTable(String locale) {
+        LocaleTable table = LOCALE_MAPPINGS.get(locale);
+        if (table == null) {
+            String lowercaseLocale = locale.toLowerCase(Locale.ROOT);
+            if (!lowercaseLocale.equals(locale)) {
+                table = LOCALE_MAPPINGS.get(lowercaseLocale);
+                if (table != null) {
+                    // Skip lowercasing the next time this locale is looked up
+                    LOCALE_MAPPINGS.put(locale, table);
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * @return the table for this locale, or the default locale's table if this locale is not loaded (yet)
+     */
+    @Nullable
+    private static LocaleTable getTableOrDefault(String locale) {
+        LocaleTable table = getTable(locale);
+        if (table == null) {
+            table = getTable(GeyserLocale.getDefaultLocale());
+        }
+        return table;
+    }
+
     /**
      * Translate the given language string into the given locale, or falls back to the default locale
      *
@@ -196,21 +332,20 @@ public class MinecraftLocale {
      * @return Translated string or the original message if it was not found in the given locale
      */
     public static String getLocaleString(String messageText, String locale) {
-        Map<String, String> localeStrings = LOCALE_MAPPINGS.get(locale.toLowerCase(Locale.ROOT));
+        LocaleTable localeStrings = getTableOrDefault(locale);
         if (localeStrings == null) {
-            localeStrings = LOCALE_MAPPINGS.get(GeyserLocale.getDefaultLocale());
-            if (localeStrings == null) {
-                // Don't cause a NPE if the locale is STILL missing
-                GeyserImpl.getInstance().getLogger().debug("MISSING DEFAULT LOCALE: " + GeyserLocale.getDefaultLocale());
-                return messageText;
-            }
+            // Don't cause a NPE if the locale is STILL missing
+            GeyserImpl.getInstance().getLogger().debug("MISSING DEFAULT LOCALE: " + GeyserLocale.getDefaultLocale());
+            return messageText;
         }
 
-        return localeStrings.getOrDefault(messageText, messageText);
+        String translated = localeStrings.get(messageText);
+        return translated != null ? translated : messageText;
     }
 
     /**
      * Translate the given language string into the given locale, or returns null.
+     * If the locale is not loaded yet, the default locale is used instead.
      *
      * @param messageText Language string to translate
      * @param locale Locale to translate to
@@ -218,7 +353,7 @@ public class MinecraftLocale {
      */
     @Nullable
     public static String getLocaleStringIfPresent(String messageText, String locale) {
-        Map<String, String> localeStrings = LOCALE_MAPPINGS.get(locale.toLowerCase(Locale.ROOT));
+        LocaleTable localeStrings = getTableOrDefault(locale);
         if (localeStrings != null) {
             return localeStrings.get(messageText);
         }
@@ -239,4 +374,16 @@ public class MinecraftLocale {
         }
         return result.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * The strings of one locale, stored by their position in the shared {@link #KEY_INDEX}.
+     */
+    private record LocaleTable(String[] values) {
+        @Nullable
+        String get(String key) {
+            int index = KEY_INDEX.getInt(key);
+            // Keys added after this table was built are not in this locale
+            return index >= 0 && index < values.length ? values[index] : null;
+        }
+    }
+}
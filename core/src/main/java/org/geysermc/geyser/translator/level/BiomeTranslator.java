@@ -46,6 +46,18 @@ import org.geysermc.geyser.util.MathUtils;
 
 // Array index formula by https://wiki.vg/Chunk_Format
 public class BiomeTranslator {
+    /**
+     * Sections that are one biome are very common, so their storages are shared between every chunk and session.
+     * They cannot be changed by accident: the palette is an immutable singleton list, so adding another biome
+     * throws, and {@link SingletonBitArray} ignores writes.
+     */
+    private static final BlockStorage[] SINGLETON_STORAGES = new BlockStorage[256];
+
+    static {
+        for (int i = 0; i < SINGLETON_STORAGES.length; i++) {
+            SINGLETON_STORAGES[i] = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(i));
+        }
+    }
 
     public static void loadServerBiomes(GeyserSession session, CompoundTag codec) {
         Int2IntMap biomeTranslations = new Int2IntOpenHashMap();
@@ -102,64 +114,110 @@ public class BiomeTranslator {
 
         Palette palette = biomeData.getPalette();
         if (palette instanceof SingletonPalette) {
-            int biomeId = biomeTranslations[palette.idToState(0)];
-            return new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(biomeId));
-        } else {
-            BlockStorage storage;
-            if (!(palette instanceof GlobalPalette)) {
-                // Prevent resizing by allocating what we can ahead of time
-                BitStorage bitStorage = biomeData.getStorage();
-                int size = palette.size();
-                BitArray bitArray = BitArrayVersion.forBitsCeil(bitStorage.getBitsPerEntry())
-                        .createArray(BlockStorage.SIZE);
-
-                IntList bedrockPalette = new IntArrayList(size);
-
-                for (int i = 0; i < size; i++) {
-                    int javaId = palette.idToState(i);
-                    bedrockPalette.add(biomeTranslations[javaId]);
-                }
+            return singletonStorage(biomeTranslations[palette.idToState(0)]);
+        }
 
-                // Each section of biome corresponding to a chunk section contains 4 * 4 * 4 entries
-                for (int i = 0; i < 64; i++) {
-                    int idx = bitStorage.get(i);
-                    int x = i & 3;
-                    int y = (i >> 4) & 3;
-                    int z = (i >> 2) & 3;
-                    // Convert biome coordinates into block coordinates
-                    // Bedrock expects a full 4096 blocks
-                    multiplyIdToStorage(bitArray, idx, x, y, z);
-                }
+        BitStorage bitStorage = biomeData.getStorage();
+        // Each section of biome corresponding to a chunk section contains 4 * 4 * 4 entries
+        int[] cells = new int[64];
+        IntList bedrockPalette;
+        BitArrayVersion version;
+        if (!(palette instanceof GlobalPalette)) {
+            int size = palette.size();
+            bedrockPalette = new IntArrayList(size);
+            boolean uniform = true;
+            for (int i = 0; i < size; i++) {
+                int biomeId = biomeTranslations[palette.idToState(i)];
+                bedrockPalette.add(biomeId);
+                uniform &= biomeId == bedrockPalette.getInt(0);
+            }
+            if (uniform) {
+                // Every Java biome in this section maps to the same Bedrock biome
+                return singletonStorage(bedrockPalette.getInt(0));
+            }
 
-                storage = new BlockStorage(bitArray, bedrockPalette);
-            } else {
-                storage = new BlockStorage(0);
-
-                // Each section of biome corresponding to a chunk section contains 4 * 4 * 4 entries
-                for (int i = 0; i < 64; i++) {
-                    int javaId = palette.idToState(biomeData.getStorage().get(i));
-                    int x = i & 3;
-                    int y = (i >> 4) & 3;
-                    int z = (i >> 2) & 3;
-                    // Get the Bedrock biome ID override
-                    int biomeId = biomeTranslations[javaId];
-                    int idx = storage.idFor(biomeId);
-                    // Convert biome coordinates into block coordinates
-                    // Bedrock expects a full 4096 blocks
-                    // Implementation note: storage.getBitArray() must be called and not stored - if the palette
-                    // grows, then the instance can change
-                    multiplyIdToStorage(storage.getBitArray(), idx, x, y, z);
+            for (int i = 0; i < 64; i++) {
+                cells[i] = bitStorage.get(i);
+            }
+            // Prevent resizing by allocating what we can ahead of time
+            version = BitArrayVersion.forBitsCeil(bitStorage.getBitsPerEntry());
+        } else {
+            bedrockPalette = new IntArrayList();
+            for (int i = 0; i < 64; i++) {
+                // Get the Bedrock biome ID override
+                int biomeId = biomeTranslations[palette.idToState(bitStorage.get(i))];
+                int idx = bedrockPalette.indexOf(biomeId);
+                if (idx == -1) {
+                    idx = bedrockPalette.size();
+                    bedrockPalette.add(biomeId);
                 }
+                cells[i] = idx;
+            }
+            if (bedrockPalette.size() == 1) {
+                return singletonStorage(bedrockPalette.getInt(0));
             }
-            return storage;
+            version = BitArrayVersion.forBitsCeil(MathUtils.getGlobalPaletteForSize(bedrockPalette.size()));
         }
+
+        BitArray bitArray = version.createArray(BlockStorage.SIZE);
+        int[] words = bitArray.getWords();
+        int bits = version.getId();
+        for (int i = 0; i < 64; i++) {
+            int x = i & 3;
+            int y = (i >> 4) & 3;
+            int z = (i >> 2) & 3;
+            // Convert biome coordinates into block coordinates
+            // Bedrock expects a full 4096 blocks
+            fillCell(words, version, bits, cells[i], x, y, z);
+        }
+        return new BlockStorage(bitArray, bedrockPalette);
+    }
+
+    /**
+     * @return a shared storage where every block is the given Bedrock biome. Must not be modified.
+     */
+    private static BlockStorage singletonStorage(int biomeId) {
+        if (biomeId >= 0 && biomeId < SINGLETON_STORAGES.length) {
+            return SINGLETON_STORAGES[biomeId];
+        }
+        return new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(biomeId));
     }
 
-    private static void multiplyIdToStorage(final BitArray bitArray, final int idx, final int x, final int y, final int z) {
+    /**
+     * Writes one biome cell - 4 * 4 * 4 blocks - into freshly allocated words.
+     * Y is the fastest changing coordinate in the block index, so each X/Z column of the cell is four
+     * consecutive entries. Without padding, those never cross a word and can be written in one go.
+     */
+    static void fillCell(int[] words, BitArrayVersion version, int bits, int value, int x, int y, int z) {
+        if (value == 0) {
+            // Already zeroed
+            return;
+        }
+
+        boolean padded = version == BitArrayVersion.V3 || version == BitArrayVersion.V5 || version == BitArrayVersion.V6;
+        int column = 0;
+        if (!padded) {
+            // Repeat the value four times; with 16 bits, the column spans two whole words of two entries each
+            int entries = bits == 16 ? 2 : 4;
+            for (int i = 0; i < entries; i++) {
+                column |= value << (i * bits);
+            }
+        }
+
         for (int blockX = x << 2; blockX < (x << 2) + 4; blockX++) {
             for (int blockZ = z << 2; blockZ < (z << 2) + 4; blockZ++) {
-                for (int blockY = y << 2; blockY < (y << 2) + 4; blockY++) {
-                    bitArray.set((blockX << 8) | (blockZ << 4) | blockY, idx);
+                int index = (blockX << 8) | (blockZ << 4) | (y << 2);
+                if (padded) {
+                    int entriesPerWord = 32 / bits;
+                    for (int blockY = index; blockY < index + 4; blockY++) {
+                        words[blockY / entriesPerWord] |= value << ((blockY % entriesPerWord) * bits);
+                    }
+                } else {
+                    int bitIndex = index * bits;
+                    words[bitIndex >> 5] |= column << (bitIndex & 31);
+                    if (bits == 16) {
+                        words[(bitIndex >> 5) + 1] = column;
+                    }
                 }
             }
         }
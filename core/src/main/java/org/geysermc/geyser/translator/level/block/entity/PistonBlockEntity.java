@@ -52,7 +52,6 @@ import org.geysermc.geyser.util.BlockUtils;
 import org.geysermc.geyser.util.ChunkUtils;
 
 import java.util.LinkedList;
-import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 
@@ -570,9 +569,9 @@ public class PistonBlockEntity {
      */
     private void createMovingBlocks() {
         // Map the final position of each block to this block entity
-        Map<Vector3i, PistonBlockEntity> movingBlockMap = session.getPistonCache().getMovingBlocksMap();
-        attachedBlocks.forEach((blockPos, javaId) -> movingBlockMap.put(blockPos, this));
-        movingBlockMap.put(getPistonHeadPos(), this);
+        PistonCache pistonCache = session.getPistonCache();
+        attachedBlocks.forEach((blockPos, javaId) -> pistonCache.addMovingBlock(blockPos, this));
+        pistonCache.addMovingBlock(getPistonHeadPos(), this);
 
         Vector3i movement = getMovement();
         BoundingBox playerBoundingBox = session.getCollisionManager().getPlayerBoundingBox().clone();
@@ -643,10 +642,10 @@ public class PistonBlockEntity {
      * Remove moving blocks from the piston cache
      */
     private void removeMovingBlocks() {
-        Map<Vector3i, PistonBlockEntity> movingBlockMap = session.getPistonCache().getMovingBlocksMap();
-        attachedBlocks.forEach((blockPos, javaId) -> movingBlockMap.remove(blockPos));
+        PistonCache pistonCache = session.getPistonCache();
+        attachedBlocks.forEach((blockPos, javaId) -> pistonCache.removeMovingBlock(blockPos));
         attachedBlocks.clear();
-        movingBlockMap.remove(getPistonHeadPos());
+        pistonCache.removeMovingBlock(getPistonHeadPos());
         flattenedAttachedBlocks = new int[0];
     }
 
@@ -36,7 +36,6 @@ import org.geysermc.geyser.translator.protocol.Translator;
 @Translator(packet = ClientboundSetEntityDataPacket.class)
 public class JavaSetEntityDataTranslator extends PacketTranslator<ClientboundSetEntityDataPacket> {
 
-    @SuppressWarnings({"rawtypes", "unchecked"})
     @Override
     public void translate(GeyserSession session, ClientboundSetEntityDataPacket packet) {
         Entity entity = session.getEntityCache().getEntityByJavaId(packet.getEntityId());
@@ -44,16 +43,7 @@ public class JavaSetEntityDataTranslator extends PacketTranslator<ClientboundSet
 
         EntityDefinition<?> definition = entity.getDefinition();
         for (EntityMetadata<?, ?> metadata : packet.getMetadata()) {
-            if (metadata.getId() >= definition.translators().size()) {
-                if (session.getGeyser().getConfig().isDebugMode()) {
-                    // Minecraft client just ignores these
-                    session.getGeyser().getLogger().warning("Metadata ID " + metadata.getId() + " is out of bounds of known entity metadata size " + definition.translators().size() + " for entity type " + entity.getDefinition().entityType());
-                    session.getGeyser().getLogger().debug(metadata.toString());
-                }
-                continue;
-            }
-
-            ((EntityDefinition) definition).translateMetadata(entity, metadata);
+            definition.translateMetadata(entity, metadata);
         }
 
         entity.updateBedrockMetadata();
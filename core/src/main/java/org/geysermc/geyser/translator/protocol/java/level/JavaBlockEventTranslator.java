@@ -84,13 +84,13 @@ public class JavaBlockEventTranslator extends PacketTranslator<ClientboundBlockE
                             return;
                         }
                     }
-                    PistonBlockEntity blockEntity = pistonCache.getPistons().computeIfAbsent(position, pos -> new PistonBlockEntity(session, pos, direction, true, true));
+                    PistonBlockEntity blockEntity = pistonCache.computePistonIfAbsent(position, pos -> new PistonBlockEntity(session, pos, direction, true, true));
                     if (blockEntity.getAction() != action) {
                         blockEntity.setAction(action, Object2IntMaps.emptyMap());
                     }
                 }
             } else {
-                PistonBlockEntity blockEntity = pistonCache.getPistons().computeIfAbsent(position, pos -> {
+                PistonBlockEntity blockEntity = pistonCache.computePistonIfAbsent(position, pos -> {
                     int blockId = session.getGeyser().getWorldManager().getBlockAt(session, position);
                     boolean sticky = BlockStateValues.isStickyPiston(blockId);
                     boolean extended = action != PistonValueType.PUSHING;
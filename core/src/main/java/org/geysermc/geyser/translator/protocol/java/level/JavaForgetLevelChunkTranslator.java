@@ -42,6 +42,8 @@ public class JavaForgetLevelChunkTranslator extends PacketTranslator<Clientbound
     @Override
     public void translate(GeyserSession session, ClientboundForgetLevelChunkPacket packet) {
         session.getChunkCache().removeChunk(packet.getX(), packet.getZ());
+        // No need to send a chunk that is already unloaded
+        session.getChunkSendScheduler().remove(packet.getX(), packet.getZ());
 
         // Checks if a skull is in an unloaded chunk then removes it
         List<Vector3i> removedSkulls = new ArrayList<>();
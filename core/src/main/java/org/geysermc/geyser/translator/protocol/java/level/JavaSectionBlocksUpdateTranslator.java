@@ -36,8 +36,11 @@ public class JavaSectionBlocksUpdateTranslator extends PacketTranslator<Clientbo
 
     @Override
     public void translate(GeyserSession session, ClientboundSectionBlocksUpdatePacket packet) {
-        for (BlockChangeEntry entry : packet.getEntries()) {
-            session.getWorldCache().updateServerCorrectBlockState(entry.getPosition(), entry.getBlock());
+        BlockChangeEntry[] entries = packet.getEntries();
+        if (entries.length == 1) {
+            session.getWorldCache().updateServerCorrectBlockState(entries[0].getPosition(), entries[0].getBlock());
+        } else {
+            session.getWorldCache().updateServerCorrectBlockStates(packet.getChunkX(), packet.getChunkY(), packet.getChunkZ(), entries);
         }
     }
 }
@@ -84,6 +84,8 @@ public class BlockEntityUtils {
     }
 
     public static void updateBlockEntity(GeyserSession session, @Nonnull NbtMap blockEntity, Vector3i position) {
+        session.getChunkSendScheduler().flush(position.getX() >> 4, position.getZ() >> 4);
+
         BlockEntityDataPacket blockEntityPacket = new BlockEntityDataPacket();
         blockEntityPacket.setBlockPosition(position);
         blockEntityPacket.setData(blockEntity);
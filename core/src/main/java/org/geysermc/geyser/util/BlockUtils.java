@@ -27,8 +27,6 @@ package org.geysermc.geyser.util;
 
 import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
 import org.cloudburstmc.math.vector.Vector3i;
-import org.geysermc.geyser.inventory.GeyserItemStack;
-import org.geysermc.geyser.inventory.PlayerInventory;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.registry.type.BlockMapping;
@@ -136,49 +134,51 @@ public final class BlockUtils {
     }
 
     public static double getBreakTime(GeyserSession session, BlockMapping blockMapping, ItemMapping item, @Nullable CompoundTag nbtData, boolean isSessionPlayer) {
-        boolean isShearsEffective = session.getTagCache().isShearsEffective(blockMapping); //TODO called twice
+        int toolEfficiencyLevel = ItemUtils.getEnchantmentLevel(nbtData, "minecraft:efficiency");
+
+        if (!isSessionPlayer) {
+            // Another entity is currently mining; we have all the information we know
+            return getBreakTime(session, blockMapping, item, toolEfficiencyLevel, 0, 0, false, true);
+        }
+
+        int hasteLevel = Math.max(session.getEffectCache().getHaste(), session.getEffectCache().getConduitPower());
+        int miningFatigueLevel = session.getEffectCache().getMiningFatigue();
+
+        boolean waterInEyes = session.getCollisionManager().isWaterInEyes();
+        boolean insideOfWaterWithoutAquaAffinity = waterInEyes &&
+                ItemUtils.getEnchantmentLevel(session.getPlayerInventory().getItem(5).getNbt(), "minecraft:aqua_affinity") < 1;
+
+        return getBreakTime(session, blockMapping, item, toolEfficiencyLevel, hasteLevel, miningFatigueLevel,
+                insideOfWaterWithoutAquaAffinity, session.getPlayerEntity().isOnGround());
+    }
+
+    /**
+     * Calculates the break time of a block from item properties that have already been resolved, such as the ones
+     * stored in {@link org.geysermc.geyser.session.cache.BreakSpeedCache}.
+     */
+    public static double getBreakTime(GeyserSession session, BlockMapping blockMapping, ItemMapping item, int toolEfficiencyLevel,
+                                      int hasteLevel, int miningFatigueLevel, boolean insideOfWaterWithoutAquaAffinity, boolean onGround) {
         boolean canHarvestWithHand = blockMapping.isCanBreakWithHand();
         String toolType = "";
         String toolTier = "";
         boolean correctTool = false;
         boolean toolCanBreak = false;
+        boolean isShearsEffective = false;
         if (item.isTool()) {
             toolType = item.getToolType();
             toolTier = item.getToolTier();
             correctTool = correctTool(session, blockMapping, toolType);
             toolCanBreak = canToolTierBreakBlock(session, blockMapping, toolTier);
-        }
-        int toolEfficiencyLevel = ItemUtils.getEnchantmentLevel(nbtData, "minecraft:efficiency");
-        int hasteLevel = 0;
-        int miningFatigueLevel = 0;
-
-        if (!isSessionPlayer) {
-            // Another entity is currently mining; we have all the information we know
-            return calculateBreakTime(blockMapping.getHardness(), toolTier, canHarvestWithHand, correctTool, toolCanBreak, toolType, isShearsEffective,
-                    toolEfficiencyLevel, hasteLevel, miningFatigueLevel, false, true);
+            // Only needed for the tool bonus of shears
+            isShearsEffective = correctTool && toolType.equals("shears");
         }
 
-        hasteLevel = Math.max(session.getEffectCache().getHaste(), session.getEffectCache().getConduitPower());
-        miningFatigueLevel = session.getEffectCache().getMiningFatigue();
-
-        boolean waterInEyes = session.getCollisionManager().isWaterInEyes();
-        boolean insideOfWaterWithoutAquaAffinity = waterInEyes &&
-                ItemUtils.getEnchantmentLevel(session.getPlayerInventory().getItem(5).getNbt(), "minecraft:aqua_affinity") < 1;
-
         return calculateBreakTime(blockMapping.getHardness(), toolTier, canHarvestWithHand, correctTool, toolCanBreak, toolType, isShearsEffective,
-                toolEfficiencyLevel, hasteLevel, miningFatigueLevel, insideOfWaterWithoutAquaAffinity, session.getPlayerEntity().isOnGround());
+                toolEfficiencyLevel, hasteLevel, miningFatigueLevel, insideOfWaterWithoutAquaAffinity, onGround);
     }
 
     public static double getSessionBreakTime(GeyserSession session, BlockMapping blockMapping) {
-        PlayerInventory inventory = session.getPlayerInventory();
-        GeyserItemStack item = inventory.getItemInHand();
-        ItemMapping mapping = ItemMapping.AIR;
-        CompoundTag nbtData = null;
-        if (item != null) {
-            mapping = item.getMapping(session);
-            nbtData = item.getNbt();
-        }
-        return getBreakTime(session, blockMapping, mapping, nbtData, true);
+        return session.getBreakSpeedCache().getBreakTime(blockMapping);
     }
 
     /**
@@ -25,6 +25,7 @@
 
 package org.geysermc.geyser.util;
 
+import com.github.steveice10.mc.protocol.data.game.level.block.BlockChangeEntry;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
@@ -37,14 +38,15 @@ import org.cloudburstmc.protocol.bedrock.data.defintions.BlockDefinition;
 import org.cloudburstmc.protocol.bedrock.packet.LevelChunkPacket;
 import org.cloudburstmc.protocol.bedrock.packet.NetworkChunkPublisherUpdatePacket;
 import org.cloudburstmc.protocol.bedrock.packet.UpdateBlockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateSubChunkBlocksPacket;
 import org.geysermc.geyser.entity.type.ItemFrameEntity;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.JavaDimension;
+import org.geysermc.geyser.level.block.BlockStateFlags;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.level.chunk.BlockStorage;
 import org.geysermc.geyser.level.chunk.GeyserChunkSection;
 import org.geysermc.geyser.level.chunk.bitarray.SingletonBitArray;
-import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.translator.level.block.entity.BedrockOnlyBlockEntity;
@@ -58,6 +60,10 @@ public class ChunkUtils {
      */
     public static final byte[] SERIALIZED_CHUNK_DATA;
     public static final byte[] EMPTY_BIOME_DATA;
+    /**
+     * {@link UpdateBlockPacket.Flag#NEIGHBORS} and {@link UpdateBlockPacket.Flag#NETWORK}, as a bitmask for sub-chunk updates.
+     */
+    private static final int UPDATE_BLOCK_FLAGS = 0b11;
 
     static {
         ByteBuf byteBuf = Unpooled.buffer();
@@ -118,25 +124,16 @@ public class ChunkUtils {
      * Updates a block, but client-side only.
      */
     public static void updateBlockClientSide(GeyserSession session, int blockState, Vector3i position) {
-        // Checks for item frames so they aren't tripped up and removed
-        ItemFrameEntity itemFrameEntity = ItemFrameEntity.getItemFrameEntity(session, position);
-        if (itemFrameEntity != null) {
-            if (blockState == JAVA_AIR_ID) { // Item frame is still present and no block overrides that; refresh it
-                itemFrameEntity.updateBlock(true);
-                // Still update the chunk cache with the new block if updateBlock is called
-                return;
-            }
-            // Otherwise, let's still store our reference to the item frame, but let the new block take precedence for now
-        }
+        // Make sure the client has the chunk before changing it
+        session.getChunkSendScheduler().flush(position.getX() >> 4, position.getZ() >> 4);
 
-        if (BlockStateValues.getSkullVariant(blockState) == -1) {
-            // Skull is gone
-            session.getSkullCache().removeSkull(position);
+        if (!beforeBlockChange(session, blockState, position)) {
+            return;
         }
 
         // Prevent moving_piston from being placed
         // It's used for extending piston heads, but it isn't needed on Bedrock and causes pistons to flicker
-        if (!BlockStateValues.isMovingPiston(blockState)) {
+        if ((BlockStateFlags.get(blockState) & BlockStateFlags.MOVING_PISTON) == 0) {
             BlockDefinition definition = session.getBlockMappings().getBedrockBlock(blockState);
 
             UpdateBlockPacket updateBlockPacket = new UpdateBlockPacket();
@@ -150,27 +147,124 @@ public class ChunkUtils {
             UpdateBlockPacket waterPacket = new UpdateBlockPacket();
             waterPacket.setDataLayer(1);
             waterPacket.setBlockPosition(position);
-            if (BlockRegistries.WATERLOGGED.get().get(blockState)) {
-                waterPacket.setDefinition(session.getBlockMappings().getBedrockWater());
-            } else {
-                waterPacket.setDefinition(session.getBlockMappings().getBedrockAir());
-            }
+            waterPacket.setDefinition(getWaterLayerDefinition(session, blockState));
             session.sendUpstreamPacket(waterPacket);
         }
 
+        afterBlockChange(session, blockState, position);
+    }
+
+    /**
+     * Sends every block change of a Java section update to the Bedrock client in one {@link UpdateSubChunkBlocksPacket},
+     * rather than two {@link UpdateBlockPacket}s per block, and adds the changes to the cache.
+     *
+     * @param session the Bedrock session to send/register the blocks to
+     * @param chunkX the X coordinate of the section, in chunks
+     * @param chunkY the Y coordinate of the section, in chunks
+     * @param chunkZ the Z coordinate of the section, in chunks
+     * @param entries the block changes, all within this section
+     */
+    public static void updateBlocks(GeyserSession session, int chunkX, int chunkY, int chunkZ, BlockChangeEntry[] entries) {
+        // Make sure the client has the chunk before changing it
+        session.getChunkSendScheduler().flush(chunkX, chunkZ);
+
+        UpdateSubChunkBlocksPacket packet = new UpdateSubChunkBlocksPacket();
+        packet.setChunkX(chunkX);
+        packet.setChunkY(chunkY);
+        packet.setChunkZ(chunkZ);
+
+        // Block changes that an item frame took care of are not sent
+        boolean[] handled = null;
+        for (int i = 0; i < entries.length; i++) {
+            int blockState = entries[i].getBlock();
+            Vector3i position = entries[i].getPosition();
+            if (!beforeBlockChange(session, blockState, position)) {
+                if (handled == null) {
+                    handled = new boolean[entries.length];
+                }
+                handled[i] = true;
+                continue;
+            }
+
+            // See updateBlockClientSide
+            if ((BlockStateFlags.get(blockState) & BlockStateFlags.MOVING_PISTON) == 0) {
+                packet.getStandardBlocks().add(new org.cloudburstmc.protocol.bedrock.data.BlockChangeEntry(position,
+                        session.getBlockMappings().getBedrockBlock(blockState), UPDATE_BLOCK_FLAGS, 0,
+                        org.cloudburstmc.protocol.bedrock.data.BlockChangeEntry.MessageType.NONE));
+                packet.getExtraBlocks().add(new org.cloudburstmc.protocol.bedrock.data.BlockChangeEntry(position,
+                        getWaterLayerDefinition(session, blockState), 0, 0,
+                        org.cloudburstmc.protocol.bedrock.data.BlockChangeEntry.MessageType.NONE));
+            }
+        }
+
+        if (!packet.getStandardBlocks().isEmpty()) {
+            session.sendUpstreamPacket(packet);
+        }
+
+        // Block entities must arrive after their blocks, and need the previous block states still in the cache
+        for (int i = 0; i < entries.length; i++) {
+            int blockState = entries[i].getBlock();
+            Vector3i position = entries[i].getPosition();
+            if (handled == null || !handled[i]) {
+                afterBlockChange(session, blockState, position);
+            }
+            session.getChunkCache().updateBlock(position.getX(), position.getY(), position.getZ(), blockState);
+        }
+    }
+
+    /**
+     * Handles item frames and skulls at this position before the block is changed.
+     *
+     * @return false if an item frame has taken care of this block change, and the block should not be sent
+     */
+    private static boolean beforeBlockChange(GeyserSession session, int blockState, Vector3i position) {
+        // Checks for item frames so they aren't tripped up and removed
+        ItemFrameEntity itemFrameEntity = ItemFrameEntity.getItemFrameEntity(session, position);
+        if (itemFrameEntity != null) {
+            if (blockState == JAVA_AIR_ID) { // Item frame is still present and no block overrides that; refresh it
+                itemFrameEntity.updateBlock(true);
+                // Still update the chunk cache with the new block if updateBlock is called
+                return false;
+            }
+            // Otherwise, let's still store our reference to the item frame, but let the new block take precedence for now
+        }
+
+        if ((BlockStateFlags.get(blockState) & BlockStateFlags.SKULL) == 0) {
+            // Skull is gone
+            session.getSkullCache().removeSkull(position);
+        }
+        return true;
+    }
+
+    /**
+     * Sends any block entity data that Bedrock needs for this block, once the block itself has been sent.
+     */
+    private static void afterBlockChange(GeyserSession session, int blockState, Vector3i position) {
         BlockStateValues.getLecternBookStates().handleBlockChange(session, blockState, position);
 
         // Iterates through all Bedrock-only block entity translators and determines if a manual block entity packet
         // needs to be sent
-        for (BedrockOnlyBlockEntity bedrockOnlyBlockEntity : BlockEntityUtils.BEDROCK_ONLY_BLOCK_ENTITIES) {
-            if (bedrockOnlyBlockEntity.isBlock(blockState)) {
-                // Flower pots are block entities only in Bedrock and are not updated anywhere else like note blocks
-                bedrockOnlyBlockEntity.updateBlock(session, blockState, position);
-                break; //No block will be a part of two classes
+        if ((BlockStateFlags.get(blockState) & BlockStateFlags.BEDROCK_ONLY_BLOCK_ENTITY_TRANSLATOR) != 0) {
+            for (BedrockOnlyBlockEntity bedrockOnlyBlockEntity : BlockEntityUtils.BEDROCK_ONLY_BLOCK_ENTITIES) {
+                if (bedrockOnlyBlockEntity.isBlock(blockState)) {
+                    // Flower pots are block entities only in Bedrock and are not updated anywhere else like note blocks
+                    bedrockOnlyBlockEntity.updateBlock(session, blockState, position);
+                    break; //No block will be a part of two classes
+                }
             }
         }
     }
 
+    /**
+     * @return what Bedrock should have in the second block layer for this Java block state
+     */
+    private static BlockDefinition getWaterLayerDefinition(GeyserSession session, int blockState) {
+        if ((BlockStateFlags.get(blockState) & BlockStateFlags.WATERLOGGED) != 0) {
+            return session.getBlockMappings().getBedrockWater();
+        }
+        return session.getBlockMappings().getBedrockAir();
+    }
+
     public static void sendEmptyChunk(GeyserSession session, int chunkX, int chunkZ, boolean forceUpdate) {
         BedrockDimension bedrockDimension = session.getChunkCache().getBedrockDimension();
         int bedrockSubChunkCount = bedrockDimension.height() >> 4;
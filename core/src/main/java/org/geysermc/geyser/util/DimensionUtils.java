@@ -66,6 +66,8 @@ public class DimensionUtils {
         Entity player = session.getPlayerEntity();
 
         session.getChunkCache().clear();
+        session.getChunkSendScheduler().clear();
+        session.getSkinSendQueue().clear();
         session.getEntityCache().removeAllEntities();
         session.getItemFrameCache().clear();
         if (session.getLecternCache() != null) {
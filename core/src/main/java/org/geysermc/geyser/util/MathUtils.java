@@ -25,6 +25,8 @@
 
 package org.geysermc.geyser.util;
 
+import org.cloudburstmc.math.vector.Vector3i;
+
 public class MathUtils {
     public static final double SQRT_OF_TWO = Math.sqrt(2);
 
@@ -142,6 +144,29 @@ public class MathUtils {
         return ((x & 0xFFFFFFFFL) << 32L) | (z & 0xFFFFFFFFL);
     }
 
+    /**
+     * Packs a block's coordinates into a single {@code long}, in the same layout as Java Edition.
+     * X and Z use 26 bits each and Y uses 12 bits.
+     *
+     * @param x the X coordinate
+     * @param y the Y coordinate
+     * @param z the Z coordinate
+     * @return the packed coordinates
+     */
+    public static long blockPositionToLong(int x, int y, int z) {
+        return ((x & 0x3FFFFFFL) << 38) | ((z & 0x3FFFFFFL) << 12) | (y & 0xFFFL);
+    }
+
+    /**
+     * Unpacks a block position packed with {@link #blockPositionToLong(int, int, int)}.
+     *
+     * @param position the packed coordinates
+     * @return the block position
+     */
+    public static Vector3i blockPositionFromLong(long position) {
+        return Vector3i.from((int) (position >> 38), (int) (position << 52 >> 52), (int) (position << 26 >> 38));
+    }
+
     /**
      * @return the bits per entry used when this number is the maximum amount of entries.
      */
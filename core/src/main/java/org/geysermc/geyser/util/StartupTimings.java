@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Records how long each phase of startup takes, so slow startups can be narrowed down.
+ * Phases can be nested, e.g. a registry populator running inside of a registry's initialization.
+ */
+public final class StartupTimings {
+    private static final List<Phase> PHASES = new ArrayList<>();
+    private static final ThreadLocal<Integer> DEPTH = ThreadLocal.withInitial(() -> 0);
+
+    /**
+     * Runs and times a phase of startup.
+     *
+     * @param name the name of the phase
+     * @param phase the phase to run
+     */
+    public static void time(String name, Runnable phase) {
+        int depth = DEPTH.get();
+        int index;
+        synchronized (PHASES) {
+            // Reserve the slot now so phases are reported in the order they started
+            index = PHASES.size();
+            PHASES.add(null);
+        }
+
+        DEPTH.set(depth + 1);
+        long start = System.nanoTime();
+        try {
+            phase.run();
+        } finally {
+            long duration = System.nanoTime() - start;
+            DEPTH.set(depth);
+            synchronized (PHASES) {
+                PHASES.set(index, new Phase(name, depth, duration));
+            }
+        }
+    }
+
+    /**
+     * @return every phase timed so far, in the order they started. Phases that are still running are left out.
+     */
+    public static List<Phase> getPhases() {
+        List<Phase> phases = new ArrayList<>();
+        synchronized (PHASES) {
+            for (Phase phase : PHASES) {
+                if (phase != null) {
+                    phases.add(phase);
+                }
+            }
+        }
+        return phases;
+    }
+
+    /**
+     * Forgets every phase timed so far, so phases of a later startup, such as after a reload, are not mixed in.
+     */
+    public static void reset() {
+        synchronized (PHASES) {
+            PHASES.clear();
+        }
+    }
+
+    /**
+     * Writes a breakdown of the timed phases, one line at a time.
+     *
+     * @param output where to write each line to
+     */
+    public static void log(Consumer<String> output) {
+        output.accept("Startup timings:");
+        for (Phase phase : getPhases()) {
+            output.accept("  ".repeat(phase.depth() + 1) + phase.name() + ": " + String.format("%.1f", phase.nanos() / 1_000_000D) + "ms");
+        }
+    }
+
+    public record Phase(String name, int depth, long nanos) {
+    }
+
+    private StartupTimings() {
+    }
+}
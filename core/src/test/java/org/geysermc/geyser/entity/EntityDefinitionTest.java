@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.entity;
+
+import com.github.steveice10.mc.protocol.data.game.entity.metadata.EntityMetadata;
+import com.github.steveice10.mc.protocol.data.game.entity.metadata.MetadataType;
+import com.github.steveice10.mc.protocol.data.game.entity.metadata.type.BooleanEntityMetadata;
+import com.github.steveice10.mc.protocol.data.game.entity.metadata.type.FloatEntityMetadata;
+import com.github.steveice10.mc.protocol.data.game.entity.metadata.type.IntEntityMetadata;
+import org.geysermc.geyser.entity.type.Entity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class EntityDefinitionTest {
+
+    @Test
+    public void testDefinitionsLoad() {
+        // Area effect clouds have a placeholder translator for metadata we don't translate
+        EntityDefinition<?> definition = EntityDefinitions.AREA_EFFECT_CLOUD;
+        Assertions.assertEquals(definition.translators().size(), definition.acceptedTypes().size());
+
+        int placeholder = -1;
+        for (int i = 0; i < definition.translators().size(); i++) {
+            if (definition.translators().get(i) == null) {
+                Assertions.assertNull(definition.acceptedTypes().get(i));
+                placeholder = i;
+            } else {
+                Assertions.assertSame(definition.translators().get(i).acceptedType(), definition.acceptedTypes().get(i));
+            }
+        }
+        Assertions.assertNotEquals(-1, placeholder, "Expected a placeholder translator");
+
+        // Skipped before the entity is needed
+        definition.translateMetadata(null, new IntEntityMetadata(placeholder, MetadataType.INT, 0));
+    }
+
+    @Test
+    public void testMetadataBurst() {
+        List<String> translated = new ArrayList<>();
+        EntityDefinition<Entity> parent = EntityDefinition.<Entity>builder(null)
+                .addTranslator(MetadataType.INT, (entity, metadata) -> translated.add("int " + ((IntEntityMetadata) metadata).getPrimitiveValue()))
+                .addTranslator(null) // Placeholder
+                .addTranslator(MetadataType.BOOLEAN, (entity, metadata) -> translated.add("boolean " + ((BooleanEntityMetadata) metadata).getPrimitiveValue()))
+                .build(false);
+        EntityDefinition<Entity> definition = EntityDefinition.<Entity>inherited(null, parent)
+                .addTranslator(MetadataType.FLOAT, (entity, metadata) -> translated.add("float " + ((FloatEntityMetadata) metadata).getPrimitiveValue()))
+                .build(false);
+
+        Assertions.assertEquals(Arrays.asList(MetadataType.INT, null, MetadataType.BOOLEAN, MetadataType.FLOAT), definition.acceptedTypes());
+
+        List<EntityMetadata<?, ?>> burst = List.of(
+                new IntEntityMetadata(0, MetadataType.INT, 5),
+                new IntEntityMetadata(1, MetadataType.INT, 3),
+                new BooleanEntityMetadata(2, MetadataType.BOOLEAN, true),
+                new FloatEntityMetadata(3, MetadataType.FLOAT, 1.5f),
+                new IntEntityMetadata(0, MetadataType.INT, 7)
+        );
+        for (EntityMetadata<?, ?> metadata : burst) {
+            definition.translateMetadata(null, metadata);
+        }
+
+        Assertions.assertEquals(List.of("int 5", "boolean true", "float 1.5", "int 7"), translated);
+    }
+}
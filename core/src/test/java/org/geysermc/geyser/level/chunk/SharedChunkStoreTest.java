@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import com.github.steveice10.mc.protocol.data.game.chunk.DataPalette;
+import com.google.common.hash.HashCode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SharedChunkStoreTest {
+    private static final HashCode CONTENT = HashCode.fromLong(1);
+    private static final HashCode OTHER_CONTENT = HashCode.fromLong(2);
+
+    @Test
+    public void testSharing() {
+        SharedChunkStore store = new SharedChunkStore(1000);
+        SharedChunkStore.ColumnKey key = key(0);
+
+        SharedChunkStore.SharedColumn first = store.acquire(key, CONTENT, 100, chunk());
+        SharedChunkStore.SharedColumn second = store.acquire(key, CONTENT, 100, chunk());
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(100, store.getUsedBytes());
+
+        // The same position on another server or in another world is never shared
+        Assertions.assertNotSame(first, store.acquire(new SharedChunkStore.ColumnKey("other", "world", 0), CONTENT, 100, chunk()));
+        Assertions.assertNotSame(first, store.acquire(new SharedChunkStore.ColumnKey("server", "other", 0), CONTENT, 100, chunk()));
+        Assertions.assertEquals(300, store.getUsedBytes());
+
+        // Unreferenced columns are kept while they fit, and can be picked up again
+        store.release(first);
+        store.release(second);
+        Assertions.assertEquals(300, store.getUsedBytes());
+        Assertions.assertSame(first, store.acquire(key, CONTENT, 100, chunk()));
+        Assertions.assertEquals(300, store.getUsedBytes());
+    }
+
+    @Test
+    public void testReplacedContent() {
+        SharedChunkStore store = new SharedChunkStore(1000);
+        SharedChunkStore.ColumnKey key = key(0);
+
+        SharedChunkStore.SharedColumn old = store.acquire(key, CONTENT, 100, chunk());
+        SharedChunkStore.SharedColumn updated = store.acquire(key, OTHER_CONTENT, 150, chunk());
+        Assertions.assertNotSame(old, updated);
+        // The old column is still in use by the first session
+        Assertions.assertEquals(250, store.getUsedBytes());
+
+        store.release(old);
+        Assertions.assertEquals(150, store.getUsedBytes());
+        // New sessions get the new content
+        Assertions.assertSame(updated, store.acquire(key, OTHER_CONTENT, 150, chunk()));
+
+        // An unreferenced column is dropped as soon as it is replaced
+        store.release(updated);
+        store.release(updated);
+        Assertions.assertEquals(150, store.getUsedBytes());
+        store.acquire(key, CONTENT, 100, chunk());
+        Assertions.assertEquals(100, store.getUsedBytes());
+    }
+
+    @Test
+    public void testEviction() {
+        SharedChunkStore store = new SharedChunkStore(250);
+
+        SharedChunkStore.SharedColumn first = store.acquire(key(0), CONTENT, 100, chunk());
+        SharedChunkStore.SharedColumn second = store.acquire(key(1), CONTENT, 100, chunk());
+        store.release(first);
+        store.release(second);
+        Assertions.assertEquals(200, store.getUsedBytes());
+
+        // Least recently released first
+        SharedChunkStore.SharedColumn third = store.acquire(key(2), CONTENT, 100, chunk());
+        Assertions.assertEquals(200, store.getUsedBytes());
+        Assertions.assertNotSame(first, store.acquire(key(0), CONTENT, 100, chunk()));
+        // That evicted the second column, the only unreferenced one left
+        Assertions.assertEquals(200, store.getUsedBytes());
+
+        // Columns that are in use are never evicted, even over the budget
+        store.acquire(key(1), CONTENT, 100, chunk());
+        store.acquire(key(3), CONTENT, 100, chunk());
+        Assertions.assertEquals(400, store.getUsedBytes());
+
+        // Once released, they are evicted until the store is within its budget again
+        store.release(third);
+        Assertions.assertEquals(300, store.getUsedBytes());
+    }
+
+    private static SharedChunkStore.ColumnKey key(long position) {
+        return new SharedChunkStore.ColumnKey("server", "world", position);
+    }
+
+    private static GeyserChunk chunk() {
+        return GeyserChunk.from(new DataPalette[24]);
+    }
+}
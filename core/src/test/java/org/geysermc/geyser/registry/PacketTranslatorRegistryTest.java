@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.registry;
+
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.translator.protocol.PacketTranslator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PacketTranslatorRegistryTest {
+
+    @Test
+    public void testDispatchTable() {
+        PacketTranslatorRegistry<TestPacket> registry = PacketTranslatorRegistry.create(TestPacket::id, 3);
+        CountingTranslator<FirstPacket> first = new CountingTranslator<>();
+        registry.register(FirstPacket.class, first);
+
+        Assertions.assertSame(first, registry.translatorFor(FirstPacket.class, new FirstPacket()));
+        Assertions.assertSame(first, registry.translatorFor(FirstPacket.class, new FirstPacket()));
+        Assertions.assertEquals(1, first.resolutions, "Translator should only be resolved once");
+
+        // Packets without a translator are remembered as such
+        Assertions.assertNull(registry.translatorFor(SecondPacket.class, new SecondPacket()));
+        Assertions.assertNull(registry.translatorFor(SecondPacket.class, new SecondPacket()));
+
+        // Registering afterwards must not leave stale entries in the table
+        CountingTranslator<SecondPacket> second = new CountingTranslator<>();
+        registry.register(SecondPacket.class, second);
+        Assertions.assertSame(second, registry.translatorFor(SecondPacket.class, new SecondPacket()));
+        Assertions.assertSame(first, registry.translatorFor(FirstPacket.class, new FirstPacket()));
+
+        CountingTranslator<FirstPacket> replacement = new CountingTranslator<>();
+        registry.register(FirstPacket.class, replacement);
+        Assertions.assertSame(replacement, registry.translatorFor(FirstPacket.class, new FirstPacket()));
+    }
+
+    @Test
+    public void testDispatchByClass() {
+        PacketTranslatorRegistry<TestPacket> registry = PacketTranslatorRegistry.create();
+        CountingTranslator<FirstPacket> first = new CountingTranslator<>();
+        registry.register(FirstPacket.class, first);
+
+        Assertions.assertSame(first, registry.translatorFor(FirstPacket.class, new FirstPacket()));
+        Assertions.assertSame(first, registry.translatorFor(FirstPacket.class, new FirstPacket()));
+        Assertions.assertEquals(1, first.resolutions, "Translator should only be resolved once");
+        Assertions.assertNull(registry.translatorFor(SecondPacket.class, new SecondPacket()));
+
+        CountingTranslator<SecondPacket> second = new CountingTranslator<>();
+        registry.register(SecondPacket.class, second);
+        Assertions.assertSame(second, registry.translatorFor(SecondPacket.class, new SecondPacket()));
+    }
+
+    private interface TestPacket {
+        int id();
+    }
+
+    private static final class FirstPacket implements TestPacket {
+        @Override
+        public int id() {
+            return 0;
+        }
+    }
+
+    private static final class SecondPacket implements TestPacket {
+        @Override
+        public int id() {
+            return 2;
+        }
+    }
+
+    private static final class CountingTranslator<P> extends PacketTranslator<P> {
+        private int resolutions;
+
+        @Override
+        public void translate(GeyserSession session, P packet) {
+        }
+
+        @Override
+        public boolean shouldExecuteInEventLoop() {
+            resolutions++;
+            return true;
+        }
+    }
+}
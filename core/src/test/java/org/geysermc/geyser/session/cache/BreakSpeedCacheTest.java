@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.github.steveice10.opennbt.tag.builtin.ListTag;
+import com.github.steveice10.opennbt.tag.builtin.ShortTag;
+import com.github.steveice10.opennbt.tag.builtin.StringTag;
+import com.github.steveice10.opennbt.tag.builtin.Tag;
+import org.geysermc.geyser.util.ItemUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks that the enchantment levels the cache passes to {@code BlockUtils.getBreakTime} always match the ones
+ * {@code BlockUtils} would read from the NBT itself.
+ */
+public class BreakSpeedCacheTest {
+
+    @Test
+    public void testEfficiencyLevel() {
+        CompoundTag efficiencyFive = enchanted("minecraft:efficiency", 5);
+        CompoundTag efficiencyTwo = enchanted("minecraft:efficiency", 2);
+        CompoundTag unbreaking = enchanted("minecraft:unbreaking", 3);
+        CompoundTag unenchanted = new CompoundTag("");
+
+        BreakSpeedCache cache = new BreakSpeedCache(null);
+        // Switching between items, holding the same item again, and the NBT of an item being replaced
+        for (CompoundTag nbt : Arrays.asList(null, efficiencyFive, efficiencyFive, efficiencyTwo, null, unbreaking,
+                enchanted("minecraft:efficiency", 4), unenchanted, efficiencyFive, null)) {
+            Assertions.assertEquals(ItemUtils.getEnchantmentLevel(nbt, "minecraft:efficiency"), cache.getEfficiencyLevel(nbt));
+        }
+    }
+
+    @Test
+    public void testAquaAffinity() {
+        CompoundTag aquaAffinity = enchanted("minecraft:aqua_affinity", 1);
+        CompoundTag protection = enchanted("minecraft:protection", 4);
+
+        BreakSpeedCache cache = new BreakSpeedCache(null);
+        for (CompoundTag nbt : Arrays.asList(null, aquaAffinity, aquaAffinity, protection, null, aquaAffinity,
+                enchanted("minecraft:aqua_affinity", 1), protection)) {
+            Assertions.assertEquals(ItemUtils.getEnchantmentLevel(nbt, "minecraft:aqua_affinity") >= 1, cache.hasAquaAffinity(nbt));
+        }
+    }
+
+    private static CompoundTag enchanted(String enchantment, int level) {
+        CompoundTag entry = new CompoundTag("");
+        entry.put(new StringTag("id", enchantment));
+        entry.put(new ShortTag("lvl", (short) level));
+
+        List<Tag> enchantments = new ArrayList<>();
+        enchantments.add(entry);
+        CompoundTag nbt = new CompoundTag("");
+        nbt.put(new ListTag("Enchantments", enchantments));
+        return nbt;
+    }
+}
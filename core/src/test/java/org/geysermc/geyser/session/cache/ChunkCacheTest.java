@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.github.steveice10.mc.protocol.data.game.chunk.DataPalette;
+import com.google.common.hash.HashCode;
+import org.geysermc.geyser.level.block.BlockStateValues;
+import org.geysermc.geyser.level.chunk.GeyserChunk;
+import org.geysermc.geyser.level.chunk.SharedChunkStore;
+import org.geysermc.geyser.util.MathUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ChunkCacheTest {
+
+    @Test
+    public void testSnapshot() {
+        ChunkCache chunkCache = new ChunkCache(null, true, null);
+        chunkCache.setMinY(-64);
+
+        DataPalette[] sections = new DataPalette[24];
+        sections[4] = DataPalette.createForChunk();
+        chunkCache.addToCache(0, 0, sections, new byte[0]);
+        // Y 0 to 15 of the column at chunk 0, 0
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    chunkCache.updateBlock(x, y, z, blockAt(x, y, z));
+                }
+            }
+        }
+
+        // Reaches into the unloaded column at chunk -1, 0 and into the empty section below Y 0
+        ChunkCache.BlockSnapshot snapshot = chunkCache.snapshot(-2, -1, 3, 4, 2, 5);
+        for (int y = -1; y <= 2; y++) {
+            for (int z = 3; z <= 5; z++) {
+                for (int x = -2; x <= 4; x++) {
+                    int expected = x >= 0 && y >= 0 ? blockAt(x, y, z) : BlockStateValues.JAVA_AIR_ID;
+                    Assertions.assertEquals(expected, snapshot.getBlockAt(x, y, z));
+                    Assertions.assertEquals(chunkCache.getBlockAt(x, y, z), snapshot.getBlockAt(x, y, z));
+                    Assertions.assertEquals(chunkCache.getBlockAt(x, y, z), chunkCache.getBlockAtConcurrently(x, y, z));
+                }
+            }
+        }
+        // Outside of the snapshot
+        Assertions.assertEquals(BlockStateValues.JAVA_AIR_ID, snapshot.getBlockAt(0, 3, 3));
+        Assertions.assertEquals(BlockStateValues.JAVA_AIR_ID, snapshot.getBlockAt(5, 0, 3));
+
+        // The snapshot is a copy
+        chunkCache.updateBlock(0, 0, 3, 1);
+        Assertions.assertEquals(blockAt(0, 0, 3), snapshot.getBlockAt(0, 0, 3));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> chunkCache.snapshot(1, 0, 0, 0, 0, 0));
+    }
+
+    @Test
+    public void testConcurrentReads() throws Exception {
+        ChunkCache chunkCache = new ChunkCache(null, true, null);
+        chunkCache.setMinY(0);
+
+        ExecutorService readers = Executors.newFixedThreadPool(2);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            DataPalette[] sections = new DataPalette[1];
+            sections[0] = DataPalette.createForChunk();
+            chunkCache.addToCache(0, 0, sections, new byte[0]);
+
+            List<Future<?>> results = new ArrayList<>();
+            results.add(readers.submit(() -> {
+                while (writing.get()) {
+                    // Blocks are written in order, so any snapshot must see every block up to some point, and none after it
+                    ChunkCache.BlockSnapshot snapshot = chunkCache.snapshot(0, 0, 0, 15, 15, 15);
+                    boolean written = true;
+                    for (int index = 0; index < 4096; index++) {
+                        int block = snapshot.getBlockAt(index & 0xF, index >> 8, (index >> 4) & 0xF);
+                        if (written && block == BlockStateValues.JAVA_AIR_ID) {
+                            written = false;
+                        } else {
+                            Assertions.assertEquals(written ? index + 1 : BlockStateValues.JAVA_AIR_ID, block);
+                        }
+                    }
+                }
+            }));
+            results.add(readers.submit(() -> {
+                while (writing.get()) {
+                    for (int index = 0; index < 4096; index += 7) {
+                        int block = chunkCache.getBlockAtConcurrently(index & 0xF, index >> 8, (index >> 4) & 0xF);
+                        Assertions.assertTrue(block == BlockStateValues.JAVA_AIR_ID || block == index + 1);
+                    }
+                }
+            }));
+
+            // Every block is different, so the palette has to be resized while the readers are running
+            for (int index = 0; index < 4096; index++) {
+                chunkCache.updateBlock(index & 0xF, index >> 8, (index >> 4) & 0xF, index + 1);
+            }
+            writing.set(false);
+
+            for (Future<?> result : results) {
+                // Rethrows any assertion that failed on a reader
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            writing.set(false);
+            readers.shutdownNow();
+        }
+
+        for (int index = 0; index < 4096; index++) {
+            Assertions.assertEquals(index + 1, chunkCache.getBlockAtConcurrently(index & 0xF, index >> 8, (index >> 4) & 0xF));
+        }
+    }
+
+    @Test
+    public void testSharedColumnOverlay() {
+        SharedChunkStore store = new SharedChunkStore(Long.MAX_VALUE);
+        ChunkCache first = new ChunkCache(null, true, store);
+        ChunkCache second = new ChunkCache(null, true, store);
+        first.setMinY(-64);
+        second.setMinY(-64);
+
+        // Y -64 to -49 has blocks, the section above is empty
+        DataPalette[] sections = new DataPalette[24];
+        sections[0] = DataPalette.createForChunk();
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    sections[0].set(x, y, z, blockAt(x, y, z));
+                }
+            }
+        }
+
+        long chunkPosition = MathUtils.chunkPositionToLong(0, 0);
+        SharedChunkStore.ColumnKey key = new SharedChunkStore.ColumnKey("server", "world", chunkPosition);
+        GeyserChunk chunk = GeyserChunk.from(sections);
+        SharedChunkStore.SharedColumn column = store.acquire(key, HashCode.fromLong(1), chunk.estimateSize(), chunk);
+        first.putColumn(chunkPosition, column.chunk(), column);
+        column = store.acquire(key, HashCode.fromLong(1), chunk.estimateSize(), GeyserChunk.from(new DataPalette[24]));
+        Assertions.assertSame(chunk, column.chunk());
+        second.putColumn(chunkPosition, column.chunk(), column);
+        long usedBytes = store.getUsedBytes();
+
+        // Changes go into an overlay, and neither the shared column nor the other session see them
+        first.updateBlock(1, -64, 2, 5);
+        first.updateBlock(3, -40, 4, 6);
+        Assertions.assertEquals(5, first.getBlockAt(1, -64, 2));
+        Assertions.assertEquals(6, first.getBlockAt(3, -40, 4));
+        Assertions.assertEquals(5, first.snapshot(1, -64, 2, 1, -64, 2).getBlockAt(1, -64, 2));
+        Assertions.assertEquals(blockAt(1, 0, 2), second.getBlockAt(1, -64, 2));
+        Assertions.assertEquals(BlockStateValues.JAVA_AIR_ID, second.getBlockAt(3, -40, 4));
+        Assertions.assertEquals(blockAt(1, 0, 2), sections[0].get(1, 0, 2));
+        Assertions.assertNull(sections[1]);
+
+        // Enough changes for the first session to take its own copy of the column
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                for (int y = -63; y <= -62; y++) {
+                    first.updateBlock(x, y, z, 7);
+                }
+            }
+        }
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                Assertions.assertEquals(x == 1 && z == 2 ? 5 : blockAt(x, 0, z), first.getBlockAt(x, -64, z));
+                Assertions.assertEquals(7, first.getBlockAt(x, -63, z));
+                Assertions.assertEquals(7, first.getBlockAt(x, -62, z));
+                Assertions.assertEquals(blockAt(x, 3, z), first.getBlockAt(x, -61, z));
+                Assertions.assertEquals(blockAt(x, 1, z), second.getBlockAt(x, -63, z));
+            }
+        }
+        Assertions.assertEquals(6, first.getBlockAt(3, -40, 4));
+        Assertions.assertEquals(blockAt(1, 1, 2), sections[0].get(1, 1, 2));
+        Assertions.assertNull(sections[1]);
+
+        // The copy is private, so further changes don't need an overlay
+        first.updateBlock(0, -64, 0, 8);
+        Assertions.assertEquals(8, first.getBlockAt(0, -64, 0));
+        Assertions.assertEquals(blockAt(0, 0, 0), second.getBlockAt(0, -64, 0));
+
+        // The second session still holds the column, so it stays stored
+        Assertions.assertEquals(usedBytes, store.getUsedBytes());
+        second.updateBlock(1, -64, 2, 9);
+        second.clear();
+        Assertions.assertEquals(BlockStateValues.JAVA_AIR_ID, second.getBlockAt(1, -64, 2));
+        // Unreferenced, but kept within the budget for the next session
+        Assertions.assertEquals(usedBytes, store.getUsedBytes());
+        Assertions.assertSame(chunk, store.acquire(key, HashCode.fromLong(1), chunk.estimateSize(), GeyserChunk.from(new DataPalette[24])).chunk());
+    }
+
+    private static int blockAt(int x, int y, int z) {
+        return 1 + x + (z << 4) + (y << 8);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2019-2023 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.level;
+
+import org.geysermc.geyser.level.chunk.BlockStorage;
+import org.geysermc.geyser.level.chunk.bitarray.BitArray;
+import org.geysermc.geyser.level.chunk.bitarray.BitArrayVersion;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class BiomeTranslatorTest {
+
+    @Test
+    public void testFillCellMatchesSet() {
+        Random random = new Random(0);
+        for (BitArrayVersion version : BitArrayVersion.values()) {
+            if (version == BitArrayVersion.V0) {
+                continue;
+            }
+
+            for (int run = 0; run < 8; run++) {
+                int[] cells = new int[64];
+                for (int i = 0; i < cells.length; i++) {
+                    // Leave some cells at zero, and make sure the largest value is covered
+                    cells[i] = switch (i % 4) {
+                        case 0 -> 0;
+                        case 1 -> version.getMaxEntryValue();
+                        default -> random.nextInt(version.getMaxEntryValue() + 1);
+                    };
+                }
+
+                BitArray expected = version.createArray(BlockStorage.SIZE);
+                BitArray actual = version.createArray(BlockStorage.SIZE);
+                for (int i = 0; i < cells.length; i++) {
+                    int x = i & 3;
+                    int y = (i >> 4) & 3;
+                    int z = (i >> 2) & 3;
+                    // How cells were written before they were packed into words directly
+                    for (int blockX = x << 2; blockX < (x << 2) + 4; blockX++) {
+                        for (int blockZ = z << 2; blockZ < (z << 2) + 4; blockZ++) {
+                            for (int blockY = y << 2; blockY < (y << 2) + 4; blockY++) {
+                                expected.set((blockX << 8) | (blockZ << 4) | blockY, cells[i]);
+                            }
+                        }
+                    }
+                    BiomeTranslator.fillCell(actual.getWords(), version, version.getId(), cells[i], x, y, z);
+                }
+
+                Assertions.assertArrayEquals(expected.getWords(), actual.getWords(), "Words differ for " + version);
+            }
+        }
+    }
+}